@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+#
+# Measures the time from JVM launch to the first accepted /game WebSocket handshake for each launch mode:
+#   plain  - fat jar, as in the default Docker image
+#   lazy   - fast-start profile (lazy initialization of non-critical beans)
+#   aot    - Spring AOT generated bean definitions
+#   cds    - AppCDS archive created by a training run
+#   all    - fast-start profile + AOT + AppCDS, as in the fast-start Docker image
+#
+# Usage: scripts/startup-benchmark.sh [runs-per-mode]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+ORIGIN=${ORIGIN:-http://localhost:5173}
+WORK=build/startup-benchmark
+
+cd "$(dirname "$0")/.."
+sh ./gradlew -q bootJar
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+cp build/libs/wordle-*-SNAPSHOT.jar "$WORK/app.jar"
+java -Djarmode=tools -jar "$WORK/app.jar" extract --destination "$WORK/application"
+APP="$WORK/application/app.jar"
+
+echo "Training run for the CDS archive..."
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -Dspring.profiles.active=fast-start -Dserver.port="$PORT" -jar "$APP" > "$WORK/training.log" 2>&1
+
+MODES=(plain lazy aot cds all)
+declare -A OPTIONS=(
+  [plain]=""
+  [lazy]="-Dspring.profiles.active=fast-start"
+  [aot]="-Dspring.aot.enabled=true"
+  [cds]="-XX:SharedArchiveFile=$WORK/app.jsa"
+  [all]="-XX:SharedArchiveFile=$WORK/app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start"
+)
+
+# Prints the time in ms from launching the JVM until /game answers a WebSocket handshake with 101.
+time_to_first_connection() {
+  local options=$1 start pid attempt status transfer
+  start=$(date +%s%N)
+  # shellcheck disable=SC2086
+  java $options -Dserver.port="$PORT" -jar "$APP" > "$WORK/run.log" 2>&1 &
+  pid=$!
+  while true; do
+    attempt=$(date +%s%N)
+    read -r status transfer < <(curl -s -o /dev/null --max-time 1 -w '%{http_code} %{time_starttransfer}' \
+      -H "Connection: Upgrade" -H "Upgrade: websocket" -H "Sec-WebSocket-Version: 13" \
+      -H "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==" -H "Origin: $ORIGIN" \
+      "http://localhost:$PORT/game" || true)
+    if [[ "$status" == "101" ]]; then
+      break
+    fi
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited before accepting a connection, see $WORK/run.log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  kill "$pid"
+  wait "$pid" || true
+  awk -v start="$start" -v attempt="$attempt" -v transfer="$transfer" \
+    'BEGIN { printf "%d\n", (attempt - start) / 1e6 + transfer * 1e3 }'
+}
+
+printf "%-6s %8s %8s %8s\n" mode min median max
+for mode in "${MODES[@]}"; do
+  samples=()
+  for ((run = 0; run < RUNS; run++)); do
+    samples+=("$(time_to_first_connection "${OPTIONS[$mode]}")")
+  done
+  sorted=$(printf "%s\n" "${samples[@]}" | sort -n)
+  printf "%-6s %8s %8s %8s\n" "$mode" \
+    "$(echo "$sorted" | head -1)" "$(echo "$sorted" | sed -n "$(((RUNS + 1) / 2))p")" "$(echo "$sorted" | tail -1)"
+done
+echo "(ms from JVM launch to first accepted /game connection, $RUNS runs per mode)"
@@ -0,0 +1,30 @@
+package io.piseven.wordle;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Refuses to start with Spring AOT artifacts when a setting is enabled that the AOT processing at build time could
+ * not see. The bean conditions depending on it were evaluated then, with the settings turned off, so the application
+ * would silently run without them, or, for virtual threads, only partly on them.
+ */
+final class AotSettingsGuard implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ConfigurableEnvironment environment = event.getEnvironment();
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("spring.threads.virtual.enabled is not supported with Spring AOT: "
+                    + "the executors are chosen at build time. Start without -Dspring.aot.enabled=true");
+        }
+        if (environment.getProperty("wordle.replay.path") != null) {
+            throw new IllegalStateException("wordle.replay.path is not supported with Spring AOT: "
+                    + "the replay runner is only registered at build time. Start without -Dspring.aot.enabled=true");
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package io.piseven.wordle;
 
 import io.piseven.wordle.room.RoomSocketHandler;
+import io.piseven.wordle.room.messages.outgoing.FrameCompressor;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
 
 import java.util.List;
@@ -32,11 +37,47 @@ class SocketConfig implements WebSocketConfigurer {
     @Override
     public void registerWebSocketHandlers(@NonNull WebSocketHandlerRegistry registry) {
         registry.addHandler(roomSocketHandler, "/game")
+                .setHandshakeHandler(compressionHandshakeHandler())
                 .addInterceptors(new HttpSessionHandshakeInterceptor())
                 .setAllowedOrigins(allowedOrigin);
 
     }
 
+    /**
+     * Compresses frames of at least {@code threshold} bytes for clients that negotiated
+     * {@link FrameCompressor#SUBPROTOCOL}. Static so that the broadcaster does not depend on this configuration.
+     */
+    @Bean
+    public static FrameCompressor frameCompressor(@Value("${wordle.socket.compression.threshold:1024}") int threshold,
+                                                  @Value("${wordle.socket.compression.level:1}") int level) {
+        return new FrameCompressor(threshold, level);
+    }
+
+    /**
+     * Accepts the compression subprotocol and, for clients that negotiate it, drops {@code permessage-deflate} so
+     * that shared compressed frames are not deflated a second time per session. Other clients still get the
+     * container's {@code permessage-deflate} support.
+     */
+    private static DefaultHandshakeHandler compressionHandshakeHandler() {
+        var handshakeHandler = new DefaultHandshakeHandler() {
+            @Override
+            protected @NonNull List<WebSocketExtension> filterRequestedExtensions(@NonNull ServerHttpRequest request,
+                                                                                 @NonNull List<WebSocketExtension> requested,
+                                                                                 @NonNull List<WebSocketExtension> supported) {
+                var extensions = super.filterRequestedExtensions(request, requested, supported);
+                var protocols = new WebSocketHttpHeaders(request.getHeaders()).getSecWebSocketProtocol();
+                if (!protocols.contains(FrameCompressor.SUBPROTOCOL)) {
+                    return extensions;
+                }
+                return extensions.stream()
+                        .filter(extension -> !"permessage-deflate".equalsIgnoreCase(extension.getName()))
+                        .toList();
+            }
+        };
+        handshakeHandler.setSupportedProtocols(FrameCompressor.SUBPROTOCOL);
+        return handshakeHandler;
+    }
+
     @Bean
     public ServletServerContainerFactoryBean createWebSocketContainer() {
         ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
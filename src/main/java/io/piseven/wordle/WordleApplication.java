@@ -2,12 +2,16 @@ package io.piseven.wordle;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WordleApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(WordleApplication.class, args);
+        SpringApplication application = new SpringApplication(WordleApplication.class);
+        application.addListeners(new AotSettingsGuard());
+        application.run(args);
     }
 
 }
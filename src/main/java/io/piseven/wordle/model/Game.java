@@ -1,38 +1,71 @@
 package io.piseven.wordle.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.piseven.wordle.room.error.MaxPlayerSizeExceededException;
 import io.piseven.wordle.room.error.PlayerNotFoundException;
+import io.piseven.wordle.room.error.ServerDrainingException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.util.Assert;
 
-import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
-enum GameState {
-    WAITING_FOR_PLAYERS,
-    IN_PROGRESS,
-    COMPLETED
-}
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * A game room. All mutations are serialized on the game's lock and publish a new {@link GameSnapshot};
+ * reads go through {@link #snapshot()} and never lock. Players are held in a compact {@link PlayerTable}.
+ * A {@link ReentrantLock} rather than the object monitor is used so that a virtual thread waiting for the game
+ * does not pin its carrier thread. Games share a fixed set of such locks, picked by room ID, rather than owning
+ * one each, which would add about a tenth to the footprint of an empty room.
+ * <p>
+ * A game can be frozen for a final snapshot when the server drains: from then on its state and scores no longer
+ * change, so nothing accepted after the snapshot is lost. Players can still leave.
+ */
 @Getter
+@JsonSerialize(using = GameSerializer.class)
 public class Game {
+    /**
+     * The longest round or game time limit, 7 days. Deadlines are kept on a timing wheel of limited range.
+     */
+    public static final int MAX_TIME_LIMIT_SECONDS = 7 * 24 * 60 * 60;
+    private static final int LOCK_STRIPES = 1024;
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
     private final String id;
     private final int maxRounds;
     private final int maxPlayers;
-    private final Map<String, Player> players;
-    private final Set<Player> completedPlayers;
+    private final int roundTimeLimitSeconds;
+    private final int gameTimeLimitSeconds;
+    @Getter(AccessLevel.NONE)
+    private final PlayerTable players;
+    @Getter(AccessLevel.NONE)
     private GameState state = GameState.WAITING_FOR_PLAYERS;
+    @Getter(AccessLevel.NONE)
+    private boolean frozen;
+    @Getter(AccessLevel.NONE)
+    private volatile GameSnapshot snapshot;
+    @Getter(AccessLevel.NONE)
+    private volatile EncodedSnapshot encodedSnapshot;
 
-    private Game(String id, int maxRounds, int maxPlayers) {
+    private record EncodedSnapshot(long version, String json) {
+    }
+
+    private Game(String id, int maxRounds, int maxPlayers, int roundTimeLimitSeconds, int gameTimeLimitSeconds) {
         this.id = id;
         this.maxRounds = maxRounds;
         this.maxPlayers = maxPlayers;
-        this.players = new ConcurrentHashMap<>();
-        this.completedPlayers = Collections.synchronizedSet(new LinkedHashSet<>());
+        this.roundTimeLimitSeconds = roundTimeLimitSeconds;
+        this.gameTimeLimitSeconds = gameTimeLimitSeconds;
+        this.players = new PlayerTable(maxPlayers);
+        publish();
     }
 
     /**
@@ -44,10 +77,103 @@ public class Game {
      * @throws IllegalArgumentException thrown if maxRounds is less than or equal to 4, or if maxPlayers is less than or equal to 1
      */
     public static Game create(String id, int maxRounds, int maxPlayers) {
+        return create(id, maxRounds, maxPlayers, 0, 0);
+    }
+
+    /**
+     * Factory method to create a new Game instance with time limits enforced by the server.
+     *
+     * @param maxRounds             the maximum number of rounds in the game
+     * @param maxPlayers            the maximum number of players allowed in the game
+     * @param roundTimeLimitSeconds the time a player has for each round, or 0 for no limit
+     * @param gameTimeLimitSeconds  the time the whole game may take once started, or 0 for no limit
+     * @return a new Game instance
+     * @throws IllegalArgumentException thrown if maxRounds is less than or equal to 4, if maxPlayers is less than or equal to 1, or if a time limit is negative or exceeds {@link #MAX_TIME_LIMIT_SECONDS}
+     */
+    public static Game create(String id, int maxRounds, int maxPlayers, int roundTimeLimitSeconds, int gameTimeLimitSeconds) {
         Assert.isTrue(maxRounds > 3, "Maximum rounds must be greater than 4");
         Assert.isTrue(maxPlayers > 1, "Maximum players must be greater than 1");
+        Assert.isTrue(roundTimeLimitSeconds >= 0, "Round time limit must not be negative");
+        Assert.isTrue(gameTimeLimitSeconds >= 0, "Game time limit must not be negative");
+        Assert.isTrue(roundTimeLimitSeconds <= MAX_TIME_LIMIT_SECONDS && gameTimeLimitSeconds <= MAX_TIME_LIMIT_SECONDS,
+                "Time limits must not exceed " + MAX_TIME_LIMIT_SECONDS + " seconds");
         Assert.hasText(id, "Game ID must not be empty");
-        return new Game(id, maxRounds, maxPlayers);
+        return new Game(id, maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds);
+    }
+
+    /**
+     * Recreates a game from previously captured state, e.g. when restoring a room snapshot on startup.
+     *
+     * @param state            the state the game was in
+     * @param players          the players of the game with their progress
+     * @param completedPlayers the players that finished all rounds, in completion order; those that are not part
+     *                         of {@code players} are restored as having left after completing
+     * @return a new Game instance carrying the given state
+     * @throws IllegalArgumentException if the game parameters are invalid or there are more players than seats
+     */
+    public static Game restore(String id, int maxRounds, int maxPlayers, int roundTimeLimitSeconds, int gameTimeLimitSeconds,
+                               GameState state, List<Player> players, List<Player> completedPlayers) {
+        Assert.isTrue(players.size() <= maxPlayers, "Restored game has more players than seats");
+        Game game = create(id, maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds);
+        game.lock().lock();
+        try {
+            game.state = state;
+            players.forEach(player -> game.players.add(player.getId(), player.getName(), player.getScore(), player.getCurrentRound()));
+            for (Player player : completedPlayers) {
+                int slot = game.players.indexOf(player.getId());
+                if (slot >= 0) {
+                    game.players.complete(slot);
+                } else {
+                    game.players.addDeparted(new PlayerSnapshot(player.getId(), player.getName(), player.getScore(),
+                            player.getCurrentRound()));
+                }
+            }
+            game.publish();
+        } finally {
+            game.lock().unlock();
+        }
+        return game;
+    }
+
+    /**
+     * Returns the latest published snapshot of the game, without locking.
+     *
+     * @return the current immutable view of the game
+     */
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the JSON encoding of the current snapshot, encoding it only if the snapshot's version
+     * has not been encoded yet.
+     *
+     * @return the JSON encoding of {@link #snapshot()}
+     */
+    String encodedSnapshot() {
+        GameSnapshot current = snapshot;
+        EncodedSnapshot encoded = encodedSnapshot;
+        if (encoded == null || encoded.version() != current.version()) {
+            encoded = new EncodedSnapshot(current.version(), GameSerializer.encode(current));
+            encodedSnapshot = encoded;
+        }
+        return encoded.json();
+    }
+
+    /**
+     * Freezes the game for a final snapshot: later changes of its state or scores are rejected with
+     * {@link ServerDrainingException}, and timeouts no longer apply. Players can still leave.
+     *
+     * @return the snapshot of the frozen game
+     */
+    public GameSnapshot freeze() {
+        lock().lock();
+        try {
+            frozen = true;
+            return snapshot;
+        } finally {
+            lock().unlock();
+        }
     }
 
     /**
@@ -55,15 +181,25 @@ public class Game {
      *
      * @param player the Player to be added
      * @throws MaxPlayerSizeExceededException if the game is already full
+     * @throws ServerDrainingException        if the game is frozen
      */
     public void addPlayer(Player player) {
-        if (players.size() >= maxPlayers) {
-            throw new MaxPlayerSizeExceededException(maxPlayers);
+        lock().lock();
+        try {
+            requireNotFrozen();
+            if (players.size() >= maxPlayers) {
+                throw new MaxPlayerSizeExceededException(maxPlayers);
+            }
+            if (GameState.IN_PROGRESS.equals(this.state) || GameState.COMPLETED.equals(this.state)) {
+                throw new IllegalStateException("Cannot add players to a game that is already in progress or completed");
+            }
+            if (players.indexOf(player.getId()) < 0) {
+                players.add(player.getId(), player.getName(), player.getScore(), player.getCurrentRound());
+                publish();
+            }
+        } finally {
+            lock().unlock();
         }
-        if (GameState.IN_PROGRESS.equals(this.state) || GameState.COMPLETED.equals(this.state)) {
-            throw new IllegalStateException("Cannot add players to a game that is already in progress or completed");
-        }
-        players.putIfAbsent(player.getId(), player);
     }
 
     /**
@@ -73,8 +209,44 @@ public class Game {
      * @throws IllegalArgumentException if the player ID is empty or null
      */
     public void removePlayer(String playerID) {
-        Assert.hasText(playerID, "Player ID must not be empty");
-        players.remove(playerID);
+        lock().lock();
+        try {
+            Assert.hasText(playerID, "Player ID must not be empty");
+            int slot = players.indexOf(playerID);
+            if (slot >= 0) {
+                players.remove(slot);
+                publish();
+            }
+        } finally {
+            lock().unlock();
+        }
+    }
+
+    /**
+     * Moves a player's progress over to a new ID, e.g. when the player reconnects with a new session.
+     *
+     * @param playerID    the current ID of the player
+     * @param newPlayerID the ID the player should continue with
+     * @throws IllegalArgumentException if either ID is empty or null, or the new ID is already part of the game
+     * @throws PlayerNotFoundException  if no player with the given ID exists in the game
+     * @throws ServerDrainingException   if the game is frozen
+     */
+    public void rebindPlayer(String playerID, String newPlayerID) {
+        lock().lock();
+        try {
+            requireNotFrozen();
+            Assert.hasText(playerID, "Player ID must not be empty");
+            Assert.hasText(newPlayerID, "New player ID must not be empty");
+            int slot = players.indexOf(playerID);
+            if (slot < 0) {
+                throw new PlayerNotFoundException(playerID);
+            }
+            Assert.isTrue(players.indexOf(newPlayerID) < 0, "New player ID is already part of the game");
+            players.rebind(slot, newPlayerID);
+            publish();
+        } finally {
+            lock().unlock();
+        }
     }
 
     /**
@@ -83,54 +255,169 @@ public class Game {
      * @param playerID the ID of the player whose score is to be incremented
      * @throws IllegalArgumentException if the player ID is empty or null
      * @throws PlayerNotFoundException  if no player with the given ID exists in the game
+     * @throws ServerDrainingException   if the game is frozen
+     */
+    public void incrementPlayerScore(String playerID, int score) {
+        lock().lock();
+        try {
+            requireNotFrozen();
+            Assert.hasText(playerID, "Player ID must not be empty");
+            int slot = players.indexOf(playerID);
+            if (slot < 0) {
+                throw new PlayerNotFoundException(playerID);
+            }
+            players.play(slot, score);
+            if (players.round(slot) >= maxRounds) {
+                players.complete(slot);
+            }
+            publish();
+        } finally {
+            lock().unlock();
+        }
+    }
+
+    /**
+     * Advances a player to the next round with zero score, but only if the player is still in the given round.
+     * Used when a round deadline passes, so a round the player completed in the meantime is not skipped.
+     *
+     * @param playerID the ID of the player whose round timed out
+     * @param round    the round that timed out
+     * @return true if the player was advanced, false if the player left, moved on, or the game is not in progress
+     * or frozen
+     */
+    public boolean advanceTimedOutRound(String playerID, int round) {
+        lock().lock();
+        try {
+            int slot = players.indexOf(playerID);
+            if (frozen || slot < 0 || players.round(slot) != round || !GameState.IN_PROGRESS.equals(this.state)) {
+                return false;
+            }
+            incrementPlayerScore(playerID, 0);
+            return true;
+        } finally {
+            lock().unlock();
+        }
+    }
+
+    /**
+     * Completes the remaining rounds of all players with zero score, e.g. when the game deadline passes.
+     * Does nothing if the game is frozen.
+     *
+     * @return the players that had rounds left, as they were before forfeiting them
      */
-    public synchronized void incrementPlayerScore(String playerID, int score) {
-        Assert.hasText(playerID, "Player ID must not be empty");
-        Player player = players.get(playerID);
-        if (player == null) {
-            throw new PlayerNotFoundException(playerID);
+    public List<PlayerSnapshot> forfeitRemainingRounds() {
+        lock().lock();
+        try {
+            if (frozen) {
+                return List.of();
+            }
+            List<PlayerSnapshot> forfeited = new ArrayList<>();
+            for (int slot = 0; slot < players.size(); slot++) {
+                if (players.round(slot) < maxRounds) {
+                    forfeited.add(players.snapshot(slot));
+                }
+                while (players.round(slot) < maxRounds) {
+                    players.play(slot, 0);
+                }
+                players.complete(slot);
+            }
+            publish();
+            return forfeited;
+        } finally {
+            lock().unlock();
         }
-        player.incrementScoreAndRound(score);
-        if (!completedPlayers.contains(player) && player.getCurrentRound() >= maxRounds) {
-            completedPlayers.add(player);
+    }
+
+    /**
+     * Starts the game, unless it is already in progress.
+     *
+     * @return true if this call started the game
+     * @throws ServerDrainingException if the game is frozen
+     */
+    public boolean startGame() {
+        lock().lock();
+        try {
+            requireNotFrozen();
+            if (!this.state.equals(GameState.IN_PROGRESS)) {
+                this.state = GameState.IN_PROGRESS;
+                publish();
+                return true;
+            }
+            return false;
+        } finally {
+            lock().unlock();
         }
     }
 
-    @JsonIgnore
-    public synchronized void startGame() {
-        if (!this.state.equals(GameState.IN_PROGRESS)) {
-            this.state = GameState.IN_PROGRESS;
+    public void endGame() {
+        lock().lock();
+        try {
+            requireNotFrozen();
+            this.state = GameState.COMPLETED;
+            publish();
+        } finally {
+            lock().unlock();
         }
     }
 
-    @JsonIgnore
-    public synchronized void endGame() {
-        this.state = GameState.COMPLETED;
+    public GameState getState() {
+        return snapshot.state();
     }
 
-    @JsonIgnore
     public boolean isGameInProgress() {
-        return GameState.IN_PROGRESS.equals(this.state);
+        return GameState.IN_PROGRESS.equals(snapshot.state());
     }
 
-    @JsonIgnore
     public boolean isGameCompleted() {
-        return GameState.COMPLETED.equals(this.state);
+        return GameState.COMPLETED.equals(snapshot.state());
     }
 
-    @JsonIgnore
     public boolean isEmpty() {
-        return this.players.isEmpty();
+        return snapshot.players().isEmpty();
+    }
+
+    /**
+     * Returns the number of seats still available in the game.
+     *
+     * @return the difference between the maximum and the current number of players, never negative
+     */
+    public int getFreeSeats() {
+        return snapshot.freeSeats();
     }
 
     /**
-     * Checks if the game is empty (i.e., has no players).
+     * Checks if all players have played all rounds.
      *
-     * @return true if there are no players in the game, false otherwise
+     * @return true if every player reached the maximum number of rounds, false otherwise
      */
-    @JsonIgnore
     public boolean areAllPlayersDone() {
-        return players.values().stream().allMatch(player -> player.getCurrentRound() >= maxRounds);
+        return snapshot.areAllPlayersDone();
+    }
+
+    /**
+     * Returns the lock of this game's stripe. Two rooms rarely share a stripe, and as no lock is held while taking
+     * another one, sharing can only delay a mutation, never deadlock.
+     */
+    private ReentrantLock lock() {
+        int hash = id.hashCode();
+        return LOCKS[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    private void requireNotFrozen() {
+        if (frozen) {
+            throw new ServerDrainingException();
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the current state and publishes it. Must be called while holding the game's lock.
+     */
+    private void publish() {
+        Map<String, PlayerSnapshot> playerSnapshots = players.snapshotPlayers();
+        List<PlayerSnapshot> completed = players.snapshotCompleted(playerSnapshots);
+        long version = snapshot == null ? 0 : snapshot.version() + 1;
+        snapshot = new GameSnapshot(id, version, maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds, state,
+                playerSnapshots, completed);
     }
 
 }
@@ -0,0 +1,48 @@
+package io.piseven.wordle.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Serializes a {@link Game} as its current {@link GameSnapshot}. The encoded snapshot is cached on the game
+ * under the snapshot's version, so a game is encoded once per mutation no matter how often it is broadcast.
+ * <p>
+ * As the cache is shared by every mapper serializing the game, snapshots are encoded with one mapper set at
+ * startup, Spring's {@link ObjectMapper}; outside an application context, a default mapper is used.
+ */
+class GameSerializer extends StdSerializer<Game> {
+
+    private static volatile ObjectWriter snapshotWriter = JsonMapper.builder().build().writerFor(GameSnapshot.class);
+
+    GameSerializer() {
+        super(Game.class);
+    }
+
+    @Override
+    public void serialize(Game game, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeRawValue(game.encodedSnapshot());
+    }
+
+    /**
+     * Encodes snapshots with the given mapper from now on.
+     */
+    static void useObjectMapper(ObjectMapper objectMapper) {
+        snapshotWriter = objectMapper.writerFor(GameSnapshot.class);
+    }
+
+    static String encode(GameSnapshot snapshot) {
+        try {
+            return snapshotWriter.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
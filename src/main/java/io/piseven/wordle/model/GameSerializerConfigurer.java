@@ -0,0 +1,17 @@
+package io.piseven.wordle.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands Spring's {@link ObjectMapper} to the {@link GameSerializer} at startup, before any game is broadcast.
+ */
+@Component
+@Lazy(false)
+class GameSerializerConfigurer {
+
+    GameSerializerConfigurer(ObjectMapper objectMapper) {
+        GameSerializer.useObjectMapper(objectMapper);
+    }
+}
@@ -0,0 +1,30 @@
+package io.piseven.wordle.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a {@link Game}, rebuilt on every mutation and published through a volatile field, so it can be
+ * read and serialized without locking the game. The version increases with every published snapshot of a game.
+ *
+ * @param roundTimeLimitSeconds the time a player has for each round, 0 if unlimited
+ * @param gameTimeLimitSeconds  the time the game may take once started, 0 if unlimited
+ * @param players               the players by ID, in join order
+ * @param completedPlayers      the players that finished all rounds, in completion order
+ */
+public record GameSnapshot(String id, long version, int maxRounds, int maxPlayers,
+                           int roundTimeLimitSeconds, int gameTimeLimitSeconds, GameState state,
+                           Map<String, PlayerSnapshot> players, List<PlayerSnapshot> completedPlayers) {
+
+    @JsonIgnore
+    public int freeSeats() {
+        return Math.max(0, maxPlayers - players.size());
+    }
+
+    @JsonIgnore
+    public boolean areAllPlayersDone() {
+        return players.values().stream().allMatch(player -> player.currentRound() >= maxRounds);
+    }
+}
@@ -0,0 +1,7 @@
+package io.piseven.wordle.model;
+
+public enum GameState {
+    WAITING_FOR_PLAYERS,
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -30,24 +30,18 @@ public class Player {
     }
 
     /**
-     * Increments the player's score and advances to the next round.
-     * This method should be called when the player successfully completes a round.
+     * Recreates a player with its progress, e.g. when restoring a room snapshot.
+     *
+     * @param id           the unique identifier for the player, must not be empty
+     * @param name         the name of the player, must not be empty
+     * @param score        the score accumulated so far
+     * @param currentRound the number of rounds played so far
+     * @return a new Player instance carrying the given progress
      */
-    public void incrementScoreAndRound(int score) {
-        this.currentRound++;
-        this.score += score;
-    }
-
-    @Override
-    public int hashCode() {
-        return this.id.hashCode();
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Player player = (Player) o;
-        return this.id.equals(player.getId());
+    public static Player restore(String id, String name, int score, int currentRound) {
+        Player player = create(id, name);
+        player.score = score;
+        player.currentRound = currentRound;
+        return player;
     }
 }
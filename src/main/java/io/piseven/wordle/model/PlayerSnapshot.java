@@ -0,0 +1,7 @@
+package io.piseven.wordle.model;
+
+/**
+ * Immutable view of a {@link Player} at the time its game's snapshot was published.
+ */
+public record PlayerSnapshot(String id, String name, int score, int currentRound) {
+}
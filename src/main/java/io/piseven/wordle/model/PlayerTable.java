@@ -0,0 +1,171 @@
+package io.piseven.wordle.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact storage of the players of a {@link Game}: one slot per player across parallel arrays, in join order.
+ * <p>
+ * Compared to a map of {@link Player} objects plus a set of completed players, this saves the player object and
+ * the map and set entries for every player. The arrays start empty and grow up to the game's maximum number of
+ * players. Lookups by ID scan the slots, which is cheaper than hashing for the few players of a room.
+ * Not thread-safe; guarded by the owning game's lock.
+ */
+final class PlayerTable {
+
+    private static final String[] NO_STRINGS = {};
+    private static final int[] NO_INTS = {};
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int maxPlayers;
+    private String[] ids = NO_STRINGS;
+    private String[] names = NO_STRINGS;
+    private int[] scores = NO_INTS;
+    private int[] rounds = NO_INTS;
+    /**
+     * The completion sequence number of each slot's player, 0 while the player has rounds left.
+     */
+    private int[] completedAt = NO_INTS;
+    private int size;
+    private int completions;
+    /**
+     * Players that completed all rounds and then left, kept for the results. Null until the first one leaves.
+     */
+    private List<Departed> departed;
+
+    private record Departed(PlayerSnapshot player, int completedAt) {
+    }
+
+    PlayerTable(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the slot of the player with the given ID, or -1 if the player is not part of the game
+     */
+    int indexOf(String id) {
+        for (int slot = 0; slot < size; slot++) {
+            if (ids[slot].equals(id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    void add(String id, String name, int score, int round) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        names[size] = name;
+        scores[size] = score;
+        rounds[size] = round;
+        completedAt[size] = 0;
+        size++;
+    }
+
+    void remove(int slot) {
+        if (completedAt[slot] != 0) {
+            if (departed == null) {
+                departed = new ArrayList<>(1);
+            }
+            departed.add(new Departed(snapshot(slot), completedAt[slot]));
+        }
+        int tail = size - slot - 1;
+        System.arraycopy(ids, slot + 1, ids, slot, tail);
+        System.arraycopy(names, slot + 1, names, slot, tail);
+        System.arraycopy(scores, slot + 1, scores, slot, tail);
+        System.arraycopy(rounds, slot + 1, rounds, slot, tail);
+        System.arraycopy(completedAt, slot + 1, completedAt, slot, tail);
+        size--;
+        ids[size] = null;
+        names[size] = null;
+    }
+
+    void rebind(int slot, String id) {
+        ids[slot] = id;
+    }
+
+    int round(int slot) {
+        return rounds[slot];
+    }
+
+    void play(int slot, int score) {
+        scores[slot] += score;
+        rounds[slot]++;
+    }
+
+    /**
+     * Records a player that completed all rounds and then left, as the next one to complete, e.g. when restoring
+     * the results of a game.
+     */
+    void addDeparted(PlayerSnapshot player) {
+        if (departed == null) {
+            departed = new ArrayList<>(1);
+        }
+        departed.add(new Departed(player, ++completions));
+    }
+
+    /**
+     * Marks the slot's player as completed, unless it already is, keeping the completion order.
+     */
+    void complete(int slot) {
+        if (completedAt[slot] == 0) {
+            completedAt[slot] = ++completions;
+        }
+    }
+
+    /**
+     * @return the players by ID in join order, or an empty shared map
+     */
+    Map<String, PlayerSnapshot> snapshotPlayers() {
+        if (size == 0) {
+            return Map.of();
+        }
+        Map<String, PlayerSnapshot> players = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        for (int slot = 0; slot < size; slot++) {
+            players.put(ids[slot], snapshot(slot));
+        }
+        return Collections.unmodifiableMap(players);
+    }
+
+    /**
+     * @param players the players returned by {@link #snapshotPlayers()}, reused for the current players
+     * @return the completed players in completion order, or an empty shared list
+     */
+    List<PlayerSnapshot> snapshotCompleted(Map<String, PlayerSnapshot> players) {
+        if (completions == 0) {
+            return List.of();
+        }
+        List<Departed> completed = departed == null ? new ArrayList<>(size) : new ArrayList<>(departed);
+        for (int slot = 0; slot < size; slot++) {
+            if (completedAt[slot] != 0) {
+                completed.add(new Departed(players.get(ids[slot]), completedAt[slot]));
+            }
+        }
+        completed.sort(Comparator.comparingInt(Departed::completedAt));
+        return completed.stream().map(Departed::player).toList();
+    }
+
+    PlayerSnapshot snapshot(int slot) {
+        return new PlayerSnapshot(ids[slot], names[slot], scores[slot], rounds[slot]);
+    }
+
+    private void grow() {
+        int capacity = Math.min(maxPlayers, Math.max(INITIAL_CAPACITY, size * 2));
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        rounds = Arrays.copyOf(rounds, capacity);
+        completedAt = Arrays.copyOf(completedAt, capacity);
+    }
+}
@@ -0,0 +1,24 @@
+package io.piseven.wordle.ops;
+
+import io.piseven.wordle.model.GameState;
+import io.piseven.wordle.room.messages.incoming.MessageStats.SlowRoom;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A point-in-time sample of the server's room, session and message counters.
+ *
+ * @param sampledAt          the epoch millis at which the sample was taken
+ * @param roomsByState       the number of rooms per game state
+ * @param sessions           the number of open WebSocket sessions
+ * @param roomsWithSessions  the number of rooms with at least one session
+ * @param messagesPerSecond  the rate of processed messages since the previous sample
+ * @param errorsPerSecond    the rate of failed messages since the previous sample
+ * @param messagesByType     the number of processed messages per type since startup
+ * @param slowestRooms       the rooms with the slowest messages since the previous sample, slowest first
+ */
+public record OpsStats(long sampledAt, Map<GameState, Long> roomsByState, int sessions, int roomsWithSessions,
+                       double messagesPerSecond, double errorsPerSecond, Map<String, Long> messagesByType,
+                       List<SlowRoom> slowestRooms) {
+}
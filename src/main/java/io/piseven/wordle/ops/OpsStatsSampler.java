@@ -0,0 +1,195 @@
+package io.piseven.wordle.ops;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.messages.incoming.MessageProcessor;
+import io.piseven.wordle.room.session.SessionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Periodically samples the pre-aggregated counters of the room, session and message layers and pushes each
+ * sample to the connected ops dashboards.
+ * <p>
+ * Game traffic only ever touches the counters. The sample is taken and serialized once per interval on the
+ * scheduler thread, regardless of the number of viewers, so a bounded number of dashboards adds no work to the
+ * WebSocket threads. Samples are written to the viewers from a dedicated executor, one write per viewer at a time:
+ * a viewer whose previous sample is still being written skips the new one, so a slow dashboard neither stalls the
+ * scheduler nor piles up samples.
+ */
+@Slf4j
+@Component
+public class OpsStatsSampler implements DisposableBean {
+
+    private final RoomManager roomManager;
+    private final SessionRegistry sessionRegistry;
+    private final MessageProcessor messageProcessor;
+    private final ObjectMapper objectMapper;
+    private final int maxViewers;
+    private final Duration streamTimeout;
+    private final List<Viewer> viewers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sendExecutor;
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile OpsStats latest;
+    private long lastSampleNanos = System.nanoTime();
+    private long lastProcessed;
+    private long lastErrors;
+
+    public OpsStatsSampler(RoomManager roomManager, SessionRegistry sessionRegistry, MessageProcessor messageProcessor,
+                           ObjectMapper objectMapper,
+                           @Value("${wordle.ops.max-viewers:8}") int maxViewers,
+                           @Value("${wordle.ops.stream-timeout:30m}") Duration streamTimeout,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.roomManager = roomManager;
+        this.sessionRegistry = sessionRegistry;
+        this.messageProcessor = messageProcessor;
+        this.objectMapper = objectMapper;
+        this.maxViewers = maxViewers;
+        this.streamTimeout = streamTimeout;
+        if (virtualThreads) {
+            this.sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ops-stream-", 0).factory());
+        } else {
+            // at most one write per viewer is in flight, so the pool never queues
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ops-stream-");
+            threadFactory.setDaemon(true);
+            this.sendExecutor = Executors.newFixedThreadPool(maxViewers, threadFactory);
+        }
+        this.latest = sample();
+    }
+
+    /**
+     * Returns the most recent sample.
+     */
+    public OpsStats getLatest() {
+        return latest;
+    }
+
+    /**
+     * Opens a new SSE stream that receives every future sample, starting with the most recent one.
+     *
+     * @return the emitter of the new stream
+     * @throws IllegalStateException if the maximum number of viewers is already connected
+     */
+    public SseEmitter subscribe() {
+        Assert.state(viewers.size() < maxViewers, "Too many ops viewers connected");
+        var emitter = new SseEmitter(streamTimeout.toMillis());
+        var viewer = new Viewer(emitter);
+        emitter.onCompletion(() -> viewers.remove(viewer));
+        emitter.onTimeout(() -> viewers.remove(viewer));
+        emitter.onError(error -> viewers.remove(viewer));
+        viewers.add(viewer);
+        try {
+            submit(viewer, objectMapper.writeValueAsString(latest));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize ops stats", e);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${wordle.ops.sample-interval:1s}")
+    void publish() {
+        var stats = sample();
+        latest = stats;
+        if (viewers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(stats);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize ops stats", e);
+            return;
+        }
+        for (Viewer viewer : viewers) {
+            submit(viewer, json);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Takes a sample, with rates over the time since the previous one. Guarded by a {@link ReentrantLock} rather
+     * than the object monitor, so that a virtual thread sampling does not pin its carrier thread.
+     */
+    OpsStats sample() {
+        sampleLock.lock();
+        try {
+            var messageStats = messageProcessor.getStats();
+            long now = System.nanoTime();
+            long processed = messageStats.countProcessed();
+            long errors = messageStats.countErrors();
+            double seconds = Math.max(now - lastSampleNanos, 1) / 1e9;
+            var stats = new OpsStats(
+                    System.currentTimeMillis(),
+                    roomManager.countRoomsByState(),
+                    sessionRegistry.countSessions(),
+                    sessionRegistry.countRoomsWithSessions(),
+                    (processed - lastProcessed) / seconds,
+                    (errors - lastErrors) / seconds,
+                    messageStats.countByType(),
+                    messageStats.drainSlowestRooms());
+            lastSampleNanos = now;
+            lastProcessed = processed;
+            lastErrors = errors;
+            return stats;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    /**
+     * Hands the sample to the executor, unless the viewer is still busy with a previous one.
+     */
+    private void submit(Viewer viewer, String json) {
+        if (!viewer.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> send(viewer, json));
+        } catch (RejectedExecutionException e) {
+            viewer.sending.set(false);
+        }
+    }
+
+    private void send(Viewer viewer, String json) {
+        try {
+            viewer.emitter.send(SseEmitter.event().name("stats").data(json, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            viewers.remove(viewer);
+            viewer.emitter.completeWithError(e);
+        } finally {
+            viewer.sending.set(false);
+        }
+    }
+
+    /**
+     * A connected dashboard, with the flag telling whether a sample is being written to it.
+     */
+    private record Viewer(SseEmitter emitter, AtomicBoolean sending) {
+        private Viewer(SseEmitter emitter) {
+            this(emitter, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.piseven.wordle.room;
+
+/**
+ * A player restored from a room snapshot that has not rejoined yet, found by its rejoin token.
+ *
+ * @param roomId   the ID of the room the player was restored into
+ * @param playerID the placeholder ID the player is held under until it rejoins, not secret
+ */
+public record RestoredPlayer(String roomId, String playerID) {
+}
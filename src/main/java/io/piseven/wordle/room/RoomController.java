@@ -1,6 +1,10 @@
 package io.piseven.wordle.room;
 
+import io.piseven.wordle.model.GameState;
+import io.piseven.wordle.room.error.RoomAlreadyExistsException;
+import io.piseven.wordle.room.error.ServerDrainingException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,12 +15,49 @@ import java.util.Map;
 @RequestMapping("/api/v1/room")
 class RoomController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RoomManager roomManager;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createGame(@RequestParam int maxRounds, @RequestParam int maxPlayers) {
-        var roomID = roomManager.createGame(maxRounds, maxPlayers);
+    public ResponseEntity<Map<String, Object>> createGame(@RequestParam int maxRounds, @RequestParam int maxPlayers,
+                                                          @RequestParam(defaultValue = "0") int roundTimeLimitSeconds,
+                                                          @RequestParam(defaultValue = "0") int gameTimeLimitSeconds) {
+        var roomID = roomManager.createGame(maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds);
         return ResponseEntity.ok(Map.of("roomID", roomID));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> createGames(@RequestParam int count,
+                                                           @RequestParam int maxRounds, @RequestParam int maxPlayers,
+                                                           @RequestParam(defaultValue = "0") int roundTimeLimitSeconds,
+                                                           @RequestParam(defaultValue = "0") int gameTimeLimitSeconds) {
+        var roomIDs = roomManager.createGames(count, maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds);
+        return ResponseEntity.ok(Map.of("roomIDs", roomIDs));
+    }
+
+    @GetMapping
+    public ResponseEntity<RoomPage> listRooms(@RequestParam(required = false) GameState state,
+                                              @RequestParam(defaultValue = "1") int minFreeSeats,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        var page = roomManager.listRooms(state, minFreeSeats, cursor, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok(page);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException exception) {
+        return ResponseEntity.badRequest().body(Map.of("error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(RoomAlreadyExistsException.class)
+    public ResponseEntity<Map<String, Object>> handleRoomIdsExhausted(RoomAlreadyExistsException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(ServerDrainingException.class)
+    public ResponseEntity<Map<String, Object>> handleDraining(ServerDrainingException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", exception.getMessage()));
+    }
+
 }
@@ -0,0 +1,56 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.room.error.RoomAlreadyExistsException;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Allocates unique room IDs without a global lock.
+ * <p>
+ * A random ID is claimed by inserting the new room with {@link ConcurrentMap#putIfAbsent}, so two rooms can never
+ * end up with the same ID, and a live room is never overwritten. When the ID is taken, a new one is drawn. With
+ * 36^6 possible IDs collisions stay rare even with millions of rooms, so a handful of attempts is plenty; running
+ * out of attempts means the ID space is nearly exhausted.
+ */
+final class RoomIdAllocator {
+
+    static final int MAX_ATTEMPTS = 16;
+
+    private final Supplier<String> idGenerator;
+    private final LongAdder collisions = new LongAdder();
+
+    RoomIdAllocator(Supplier<String> idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Inserts a new value under a freshly allocated ID.
+     *
+     * @param map     the map holding the values by ID
+     * @param factory creates the value for an ID; may be called more than once if IDs collide
+     * @return the inserted value
+     * @throws RoomAlreadyExistsException if no free ID was found within {@link #MAX_ATTEMPTS} attempts
+     */
+    <V> V allocate(ConcurrentMap<String, V> map, Function<String, V> factory) {
+        String id = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            id = idGenerator.get();
+            V value = factory.apply(id);
+            if (map.putIfAbsent(id, value) == null) {
+                return value;
+            }
+            collisions.increment();
+        }
+        throw new RoomAlreadyExistsException(id);
+    }
+
+    /**
+     * Returns the number of generated IDs that were already taken.
+     */
+    long collisions() {
+        return collisions.sum();
+    }
+}
@@ -0,0 +1,182 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameState;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Secondary indexes over the rooms held by {@link RoomManager}.
+ * <p>
+ * Rooms are indexed by {@link GameState} and, while they are waiting for players, by their number of free seats.
+ * Both indexes are sorted, so a page is read by seeking to the cursor and walking at most {@code limit} entries,
+ * independent of the total number of rooms.
+ * <p>
+ * Only rooms still held by the manager are indexed. Updates that race with the removal of a room, e.g. a game
+ * ending while its last player leaves, check the manager's map under the same per-room lock the removal takes,
+ * so they can never re-insert a removed room.
+ */
+class RoomIndex {
+
+    private record Entry(GameState state, int freeSeats) {
+    }
+
+    private record SeatKey(int freeSeats, String roomId) implements Comparable<SeatKey> {
+        @Override
+        public int compareTo(SeatKey other) {
+            int bySeats = Integer.compare(freeSeats, other.freeSeats);
+            return bySeats != 0 ? bySeats : roomId.compareTo(other.roomId);
+        }
+    }
+
+    /**
+     * A page of room IDs and the cursor to pass in order to read the next one.
+     *
+     * @param roomIds    the room IDs on this page, in index order
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    record Page(List<String> roomIds, String nextCursor) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<GameState, NavigableSet<String>> byState = new EnumMap<>(GameState.class);
+    private final Map<GameState, LongAdder> countByState = new EnumMap<>(GameState.class);
+    private final NavigableSet<SeatKey> joinable = new ConcurrentSkipListSet<>();
+    private final Map<String, Game> rooms;
+
+    /**
+     * @param rooms the rooms held by the manager; rooms missing from it are not indexed
+     */
+    RoomIndex(Map<String, Game> rooms) {
+        this.rooms = rooms;
+        for (GameState state : GameState.values()) {
+            byState.put(state, new ConcurrentSkipListSet<>());
+            countByState.put(state, new LongAdder());
+        }
+    }
+
+    /**
+     * Returns the number of rooms per state from counters kept alongside the indexes, without walking them.
+     *
+     * @return the number of rooms for every state
+     */
+    Map<GameState, Long> countByState() {
+        Map<GameState, Long> counts = new EnumMap<>(GameState.class);
+        countByState.forEach((state, count) -> counts.put(state, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Re-indexes a room from its current state. Must be called after every state transition of the game.
+     * A room that is no longer held by the manager is removed from the indexes instead.
+     *
+     * @param game the game whose index entries should be refreshed
+     */
+    void update(Game game) {
+        entries.compute(game.getId(), (roomId, previous) -> {
+            if (previous != null) {
+                unindex(roomId, previous);
+            }
+            if (rooms.get(roomId) != game) {
+                return null;
+            }
+            var current = new Entry(game.getState(), game.getFreeSeats());
+            index(roomId, current);
+            return current;
+        });
+    }
+
+    /**
+     * Removes a room from all indexes. Must be called after the room was removed from the manager's map.
+     *
+     * @param roomId the ID of the room to remove
+     */
+    void remove(String roomId) {
+        entries.computeIfPresent(roomId, (id, previous) -> {
+            unindex(id, previous);
+            return null;
+        });
+    }
+
+    /**
+     * Lists rooms in the given state, ordered by room ID.
+     *
+     * @param state  the state to filter by
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of rooms to return
+     * @return the requested page
+     */
+    Page byState(GameState state, String cursor, int limit) {
+        NavigableSet<String> rooms = byState.get(state);
+        NavigableSet<String> tail = cursor == null ? rooms : rooms.tailSet(cursor, false);
+        List<String> page = new ArrayList<>(limit);
+        for (String roomId : tail) {
+            if (page.size() == limit) {
+                return new Page(page, page.get(page.size() - 1));
+            }
+            page.add(roomId);
+        }
+        return new Page(page, null);
+    }
+
+    /**
+     * Lists joinable rooms, i.e. rooms waiting for players with at least {@code minFreeSeats} free seats.
+     * Rooms closest to being full are listed first so that they fill up before new ones are started.
+     *
+     * @param minFreeSeats the minimum number of free seats, at least 1
+     * @param cursor       the cursor returned with the previous page, or null for the first page
+     * @param limit        the maximum number of rooms to return
+     * @return the requested page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    Page joinable(int minFreeSeats, String cursor, int limit) {
+        SeatKey first = new SeatKey(minFreeSeats, "");
+        SeatKey from = cursor == null ? first : parseSeatCursor(cursor);
+        NavigableSet<SeatKey> tail = from.compareTo(first) <= 0
+                ? joinable.tailSet(first, true)
+                : joinable.tailSet(from, false);
+        List<String> page = new ArrayList<>(limit);
+        SeatKey last = null;
+        for (SeatKey key : tail) {
+            if (page.size() == limit) {
+                return new Page(page, last.freeSeats() + ":" + last.roomId());
+            }
+            page.add(key.roomId());
+            last = key;
+        }
+        return new Page(page, null);
+    }
+
+    private void index(String roomId, Entry entry) {
+        byState.get(entry.state()).add(roomId);
+        countByState.get(entry.state()).increment();
+        if (entry.state() == GameState.WAITING_FOR_PLAYERS && entry.freeSeats() > 0) {
+            joinable.add(new SeatKey(entry.freeSeats(), roomId));
+        }
+    }
+
+    private void unindex(String roomId, Entry entry) {
+        byState.get(entry.state()).remove(roomId);
+        countByState.get(entry.state()).decrement();
+        joinable.remove(new SeatKey(entry.freeSeats(), roomId));
+    }
+
+    private static SeatKey parseSeatCursor(String cursor) {
+        int separator = cursor.indexOf(':');
+        if (separator <= 0 || separator == cursor.length() - 1) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        try {
+            return new SeatKey(Integer.parseInt(cursor.substring(0, separator)), cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+    }
+}
@@ -1,20 +1,53 @@
 package io.piseven.wordle.room;
 
 import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameSnapshot;
+import io.piseven.wordle.model.GameState;
 import io.piseven.wordle.model.Player;
+import io.piseven.wordle.room.error.InvalidRejoinTokenException;
+import io.piseven.wordle.room.error.RoomAlreadyExistsException;
 import io.piseven.wordle.room.error.RoomNotFoundException;
+import io.piseven.wordle.room.error.ServerDrainingException;
 import io.piseven.wordle.room.util.RoomUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Service
+@Lazy(false)
 @RequiredArgsConstructor
 public class RoomManager {
 
-    private final Map<String, Game> games = new ConcurrentHashMap<>();
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ConcurrentMap<String, Game> games = new ConcurrentHashMap<>();
+    private final RoomIdAllocator roomIdAllocator = new RoomIdAllocator(RoomUtil::generateRoomId);
+    private final RoomIndex roomIndex = new RoomIndex(games);
+    /**
+     * Serializes joins, rejoins and leaves, so a room emptied by a leave is not removed while a player joins it.
+     * A {@link ReentrantLock} does not pin the carrier thread of a waiting virtual thread, unlike a monitor.
+     */
+    private final ReentrantLock membershipLock = new ReentrantLock();
+    /**
+     * Restored players that did not rejoin yet, by rejoin token. Only the server knows the tokens: the players are
+     * held under placeholder IDs, which are broadcast with the game like any player ID.
+     */
+    private final Map<String, RestoredPlayer> unclaimedPlayers = new ConcurrentHashMap<>();
+    private final List<Consumer<GameSnapshot>> roomCreatedListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> roomRemovedListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean draining;
 
     /**
      * Creates a new game with a unique room ID.
@@ -22,12 +55,75 @@ public class RoomManager {
      * @param maxRounds  the maximum number of rounds for the game
      * @param maxPlayers the maximum number of players allowed
      * @return a newly generated unique room ID
+     * @throws ServerDrainingException if the server is draining
+     */
+    public String createGame(int maxRounds, int maxPlayers) {
+        return createGame(maxRounds, maxPlayers, 0, 0);
+    }
+
+    /**
+     * Creates a new game with a unique room ID and server-enforced time limits. Does not lock: the room ID is
+     * claimed by inserting the game, see {@link RoomIdAllocator}.
+     *
+     * @param maxRounds             the maximum number of rounds for the game
+     * @param maxPlayers            the maximum number of players allowed
+     * @param roundTimeLimitSeconds the time a player has for each round, or 0 for no limit
+     * @param gameTimeLimitSeconds  the time the whole game may take once started, or 0 for no limit
+     * @return a newly generated unique room ID
+     * @throws ServerDrainingException    if the server is draining
+     * @throws RoomAlreadyExistsException if no free room ID could be found
+     */
+    public String createGame(int maxRounds, int maxPlayers, int roundTimeLimitSeconds, int gameTimeLimitSeconds) {
+        if (draining) {
+            throw new ServerDrainingException();
+        }
+        Game game = roomIdAllocator.allocate(games,
+                roomId -> Game.create(roomId, maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds));
+        roomIndex.update(game);
+        roomCreatedListeners.forEach(listener -> listener.accept(game.snapshot()));
+        return game.getId();
+    }
+
+    /**
+     * Creates several games with the same settings, each with a unique room ID.
+     * If the server starts draining midway, the games created so far are kept.
+     *
+     * @param count                 the number of games to create, between 1 and {@value #MAX_BATCH_SIZE}
+     * @param maxRounds             the maximum number of rounds for each game
+     * @param maxPlayers            the maximum number of players allowed in each game
+     * @param roundTimeLimitSeconds the time a player has for each round, or 0 for no limit
+     * @param gameTimeLimitSeconds  the time each game may take once started, or 0 for no limit
+     * @return the room IDs of the created games, in creation order
+     * @throws IllegalArgumentException if the count or the game settings are invalid
+     * @throws ServerDrainingException  if the server is draining
+     */
+    public List<String> createGames(int count, int maxRounds, int maxPlayers, int roundTimeLimitSeconds, int gameTimeLimitSeconds) {
+        Assert.isTrue(count > 0 && count <= MAX_BATCH_SIZE, "Room count must be between 1 and " + MAX_BATCH_SIZE);
+        List<String> roomIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roomIds.add(createGame(maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds));
+        }
+        return roomIds;
+    }
+
+    /**
+     * Registers a listener that is called with the initial snapshot of every room created from now on.
+     * Restored rooms are not reported.
+     *
+     * @param listener the listener to call on the creating thread
+     */
+    public void onRoomCreated(Consumer<GameSnapshot> listener) {
+        roomCreatedListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that is called with the ID of every room removed after its last player left.
+     * The listener runs while membership changes are locked, so it must not block.
+     *
+     * @param listener the listener to call on the removing thread
      */
-    public synchronized String createGame(int maxRounds, int maxPlayers) {
-        String roomId = RoomUtil.generateRoomId();
-        Game game = Game.create(roomId,maxRounds, maxPlayers);
-        games.put(roomId, game);
-        return roomId;
+    public void onRoomRemoved(Consumer<String> listener) {
+        roomRemovedListeners.add(listener);
     }
 
     /**
@@ -47,7 +143,7 @@ public class RoomManager {
 
     public Game getGameBasedOnPlayerID(String playerID){
         return games.values().stream()
-                .filter(game -> game.getPlayers().containsKey(playerID))
+                .filter(game -> game.snapshot().players().containsKey(playerID))
                 .findFirst()
                 .orElseThrow(() -> new RoomNotFoundException("No game found for player ID: " + playerID));
     }
@@ -61,12 +157,48 @@ public class RoomManager {
      * @return the updated Game after the player is added
      * @throws RoomNotFoundException if the game room does not exist
      * @throws IllegalStateException if the game has already started or is full
+     * @throws ServerDrainingException if the server is draining
      */
-    public synchronized Game addPlayerToGame(String roomId, String playerID, String playerName) {
-        Game game = getGame(roomId);
-        Player player = Player.create(playerID, playerName);
-        game.addPlayer(player);
-        return game;
+    public Game addPlayerToGame(String roomId, String playerID, String playerName) {
+        membershipLock.lock();
+        try {
+            if (draining) {
+                throw new ServerDrainingException();
+            }
+            Game game = getGame(roomId);
+            Player player = Player.create(playerID, playerName);
+            game.addPlayer(player);
+            roomIndex.update(game);
+            return game;
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    /**
+     * Rebinds a restored player that reconnected with a new session, keeping its score and round.
+     * Only players restored from a snapshot that have not been claimed yet can be rebound.
+     *
+     * @param roomId      the ID of the game room
+     * @param rejoinToken the token of the restored player, handed to its client only when the server drained
+     * @param playerID    the session ID the player reconnected with
+     * @return the restored player that was claimed, with the placeholder ID it was held under until now
+     * @throws InvalidRejoinTokenException if the token does not belong to an unclaimed player of the room
+     * @throws IllegalArgumentException    if the new player ID is already part of the game
+     */
+    public RestoredPlayer rejoinGame(String roomId, String rejoinToken, String playerID) {
+        membershipLock.lock();
+        try {
+            RestoredPlayer restored = rejoinToken == null ? null : unclaimedPlayers.get(rejoinToken);
+            if (restored == null || !restored.roomId().equals(roomId)) {
+                throw new InvalidRejoinTokenException(roomId);
+            }
+            getGame(roomId).rebindPlayer(restored.playerID(), playerID);
+            unclaimedPlayers.remove(rejoinToken);
+            return restored;
+        } finally {
+            membershipLock.unlock();
+        }
     }
 
     /**
@@ -76,11 +208,170 @@ public class RoomManager {
      * @param playerId the ID of the player to be removed
      * @throws RoomNotFoundException if the game room does not exist
      */
-    public synchronized void purgePlayerFromGame(String roomId, String playerId) {
+    public void purgePlayerFromGame(String roomId, String playerId) {
+        membershipLock.lock();
+        try {
+            Game game = getGame(roomId);
+            game.removePlayer(playerId);
+            if (game.isEmpty()) {
+                games.remove(roomId);
+                roomIndex.remove(roomId);
+                roomRemovedListeners.forEach(listener -> listener.accept(roomId));
+            } else {
+                roomIndex.update(game);
+            }
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    /**
+     * Starts the game associated with the given room ID.
+     *
+     * @param roomId the ID of the game room
+     * @return true if this call started the game, false if it was already in progress
+     * @throws RoomNotFoundException if the game room does not exist
+     */
+    public boolean startGame(String roomId) {
+        Game game = getGame(roomId);
+        boolean started = game.startGame();
+        roomIndex.update(game);
+        return started;
+    }
+
+    /**
+     * Marks the game associated with the given room ID as completed.
+     *
+     * @param roomId the ID of the game room
+     * @return the completed Game
+     * @throws RoomNotFoundException if the game room does not exist
+     */
+    public Game endGame(String roomId) {
         Game game = getGame(roomId);
-        game.removePlayer(playerId);
-        if (game.isEmpty()) {
-            games.remove(roomId);
+        game.endGame();
+        roomIndex.update(game);
+        return game;
+    }
+
+    /**
+     * Lists rooms for the lobby using the secondary indexes, so the cost depends on the page size only.
+     * When no state is given, joinable rooms are listed: rooms waiting for players with at least
+     * {@code minFreeSeats} free seats, fullest first.
+     *
+     * @param state        the state to filter by, or null to list joinable rooms
+     * @param minFreeSeats the minimum number of free seats of a joinable room, ignored when a state is given
+     * @param cursor       the cursor returned with the previous page, or null for the first page
+     * @param limit        the maximum number of rooms to return
+     * @return the requested page of rooms
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public RoomPage listRooms(GameState state, int minFreeSeats, String cursor, int limit) {
+        var page = state == null
+                ? roomIndex.joinable(Math.max(1, minFreeSeats), cursor, limit)
+                : roomIndex.byState(state, cursor, limit);
+        List<RoomSummary> rooms = new ArrayList<>(page.roomIds().size());
+        for (String roomId : page.roomIds()) {
+            Game game = games.get(roomId);
+            if (game != null) {
+                rooms.add(RoomSummary.of(game));
+            }
+        }
+        return new RoomPage(rooms, page.nextCursor());
+    }
+
+    /**
+     * Returns the number of rooms per state, read from pre-aggregated counters.
+     *
+     * @return the number of rooms for every state
+     */
+    public Map<GameState, Long> countRoomsByState() {
+        return roomIndex.countByState();
+    }
+
+    /**
+     * Puts the manager in drain mode: new rooms and joins are rejected from now on.
+     */
+    public void drain() {
+        this.draining = true;
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Returns a live, unmodifiable view of all games, e.g. for writing a snapshot.
+     *
+     * @return all games currently managed
+     */
+    public Collection<Game> getGames() {
+        return Collections.unmodifiableCollection(games.values());
+    }
+
+    /**
+     * Freezes all games for a final snapshot, see {@link Game#freeze()}: from now on their state and scores can no
+     * longer change, so the returned snapshots stay the latest ones. Joins in progress complete first.
+     *
+     * @return the snapshots of all frozen games
+     */
+    public List<GameSnapshot> freezeGames() {
+        membershipLock.lock();
+        try {
+            return games.values().stream().map(Game::freeze).toList();
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    /**
+     * Restores games without unclaimed players, e.g. rooms recreated by a replay.
+     *
+     * @param restored the games to restore
+     */
+    public void restore(Collection<Game> restored) {
+        restore(restored, Map.of());
+    }
+
+    /**
+     * Restores games captured by a snapshot. The players with a rejoin token are considered unclaimed until they
+     * rejoin with their new session, see {@link #rejoinGame(String, String, String)} and {@link #purgeUnclaimedPlayers()}.
+     *
+     * @param restored     the games to restore
+     * @param rejoinTokens the players of the games that can rejoin, by rejoin token
+     */
+    public void restore(Collection<Game> restored, Map<String, RestoredPlayer> rejoinTokens) {
+        membershipLock.lock();
+        try {
+            for (Game game : restored) {
+                games.put(game.getId(), game);
+                roomIndex.update(game);
+            }
+            unclaimedPlayers.putAll(rejoinTokens);
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    /**
+     * Removes restored players that did not rejoin, and with them the rooms that end up empty.
+     *
+     * @return the number of players removed
+     */
+    public int purgeUnclaimedPlayers() {
+        membershipLock.lock();
+        try {
+            int purged = 0;
+            for (var unclaimed : Map.copyOf(unclaimedPlayers).entrySet()) {
+                RestoredPlayer restored = unclaimed.getValue();
+                if (games.containsKey(restored.roomId())) {
+                    purgePlayerFromGame(restored.roomId(), restored.playerID());
+                    purged++;
+                }
+                unclaimedPlayers.remove(unclaimed.getKey());
+            }
+            return purged;
+        } finally {
+            membershipLock.unlock();
         }
     }
 
@@ -0,0 +1,12 @@
+package io.piseven.wordle.room;
+
+import java.util.List;
+
+/**
+ * A page of the lobby listing.
+ *
+ * @param rooms      the rooms on this page
+ * @param nextCursor the cursor to request the next page with, or null if there are no more rooms
+ */
+public record RoomPage(List<RoomSummary> rooms, String nextCursor) {
+}
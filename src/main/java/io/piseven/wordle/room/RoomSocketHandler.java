@@ -1,6 +1,7 @@
 package io.piseven.wordle.room;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.piseven.wordle.room.capture.TrafficRecorder;
 import io.piseven.wordle.room.error.MessageProcessingException;
 import io.piseven.wordle.room.messages.incoming.Message;
 import io.piseven.wordle.room.messages.incoming.MessageProcessor;
@@ -8,49 +9,90 @@ import io.piseven.wordle.room.messages.incoming.PlayerLeftMessage;
 import io.piseven.wordle.room.messages.incoming.PlayerSetMessage;
 import io.piseven.wordle.room.session.SessionRegistry;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Entry point of the {@code /game} WebSocket endpoint.
+ * <p>
+ * Sessions are registered wrapped in a {@link ConcurrentWebSocketSessionDecorator}: messages of different rooms
+ * and players are handled concurrently and may send to the same session at once, which the container does not
+ * allow. The decorator lets one sender write while the others queue their frames and return, so a broadcast does
+ * not wait for another broadcast to the same client. A client that falls behind by more than the send time or
+ * buffer limit is closed.
+ */
 @Component
-@RequiredArgsConstructor
+@Lazy(false)
 public class RoomSocketHandler extends TextWebSocketHandler {
 
     private final MessageProcessor messageProcessor;
     private final ObjectMapper objectMapper;
+    private final SessionRegistry sessionRegistry;
+    private final TrafficRecorder trafficRecorder;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+
+    RoomSocketHandler(MessageProcessor messageProcessor, ObjectMapper objectMapper, SessionRegistry sessionRegistry,
+                      TrafficRecorder trafficRecorder,
+                      @Value("${wordle.socket.send-time-limit:10s}") Duration sendTimeLimit,
+                      @Value("${wordle.socket.send-buffer-limit:512KB}") DataSize sendBufferLimit) {
+        this.messageProcessor = messageProcessor;
+        this.objectMapper = objectMapper;
+        this.sessionRegistry = sessionRegistry;
+        this.trafficRecorder = trafficRecorder;
+        this.sendTimeLimitMillis = Math.toIntExact(sendTimeLimit.toMillis());
+        this.sendBufferSizeLimit = Math.toIntExact(sendBufferLimit.toBytes());
+    }
 
     @Override
     public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+        trafficRecorder.recordOpened(session.getId());
         try {
-            SessionRegistry.register(session);
+            sessionRegistry.register(new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, sendBufferSizeLimit));
             Message playerSetMessage = new PlayerSetMessage(session.getId());
             messageProcessor.processMessage(playerSetMessage);
         } catch (MessageProcessingException exception) {
-            session.sendMessage(new TextMessage(exception.getPayload()));
+            reply(session, exception);
         }
     }
 
     @Override
     protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
+        trafficRecorder.recordReceived(session.getId(), message.getPayload());
         try {
             var parsedMessage = objectMapper.readValue(message.getPayload(), Message.class);
             messageProcessor.processMessage(parsedMessage);
         } catch (MessageProcessingException exception) {
-            session.sendMessage(new TextMessage(exception.getPayload()));
+            reply(session, exception);
         }
     }
 
     @Override
     public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) throws Exception {
+        trafficRecorder.recordClosed(session.getId(), status.getCode());
         try {
-            SessionRegistry.purge(session.getId());
+            sessionRegistry.purge(session.getId());
             Message playerLeftMessage = new PlayerLeftMessage(session.getId());
             messageProcessor.processMessage(playerLeftMessage);
         } catch (MessageProcessingException messageProcessingException) {
             session.sendMessage(new TextMessage(messageProcessingException.getPayload()));
         }
     }
+
+    /**
+     * Sends an error to the client through the registered, concurrency-safe session when there is one.
+     */
+    private void reply(WebSocketSession session, MessageProcessingException exception) throws IOException {
+        sessionRegistry.fetchSession(session.getId()).orElse(session).sendMessage(new TextMessage(exception.getPayload()));
+    }
 }
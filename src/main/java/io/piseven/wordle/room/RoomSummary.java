@@ -0,0 +1,15 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameState;
+
+/**
+ * Lobby view of a room, as listed by {@code GET /api/v1/room}.
+ */
+public record RoomSummary(String roomID, GameState state, int players, int maxPlayers, int maxRounds) {
+
+    static RoomSummary of(Game game) {
+        var snapshot = game.snapshot();
+        return new RoomSummary(snapshot.id(), snapshot.state(), snapshot.players().size(), snapshot.maxPlayers(), snapshot.maxRounds());
+    }
+}
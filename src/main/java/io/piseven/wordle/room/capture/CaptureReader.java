@@ -0,0 +1,106 @@
+package io.piseven.wordle.room.capture;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads capture records written by the {@link TrafficRecorder}. Timestamps of the records read are relative to
+ * the start of the capture. Not thread-safe.
+ */
+public final class CaptureReader {
+
+    private final DataInputStream in;
+    private final Map<Integer, String> sessionIDs = new HashMap<>();
+    private long nanos;
+    private int nextSessionIndex = 1;
+
+    /**
+     * @param in the stream to read from, buffered by the caller
+     * @throws IOException if the stream is not a capture of a supported version
+     */
+    public CaptureReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        if (this.in.readInt() != CaptureWriter.MAGIC) {
+            throw new IOException("Not a capture file");
+        }
+        int version = this.in.readUnsignedShort();
+        if (version != CaptureWriter.VERSION) {
+            throw new IOException("Unsupported capture version " + version);
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null at the end of the capture
+     * @throws IOException if the capture is corrupt
+     */
+    public CaptureRecord next() throws IOException {
+        int tag = in.read();
+        if (tag < 0) {
+            return null;
+        }
+        long delta = readVarLong();
+        nanos += (delta >>> 1) ^ -(delta & 1);
+        return switch (tag) {
+            case CaptureWriter.OPENED -> new CaptureRecord.Opened(nanos, session());
+            case CaptureWriter.RECEIVED -> {
+                String sessionID = session();
+                byte[] payload = new byte[(int) readVarLong()];
+                in.readFully(payload);
+                yield new CaptureRecord.Received(nanos, sessionID, new String(payload, StandardCharsets.UTF_8));
+            }
+            case CaptureWriter.CLOSED -> {
+                int index = readSessionIndex();
+                String sessionID = session(index);
+                sessionIDs.remove(index);
+                yield new CaptureRecord.Closed(nanos, sessionID, (int) readVarLong());
+            }
+            case CaptureWriter.ROOM_CREATED -> new CaptureRecord.RoomCreated(nanos, in.readUTF(),
+                    (int) readVarLong(), (int) readVarLong(), (int) readVarLong(), (int) readVarLong());
+            default -> throw new IOException("Unknown capture record " + tag);
+        };
+    }
+
+    private String session() throws IOException {
+        return session(readSessionIndex());
+    }
+
+    private int readSessionIndex() throws IOException {
+        int index = (int) readVarLong();
+        if (index != 0) {
+            return index;
+        }
+        int newIndex = nextSessionIndex++;
+        sessionIDs.put(newIndex, in.readUTF());
+        return newIndex;
+    }
+
+    private String session(int index) throws IOException {
+        String sessionID = sessionIDs.get(index);
+        if (sessionID == null) {
+            throw new IOException("Unknown session index " + index);
+        }
+        return sessionID;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated capture record");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
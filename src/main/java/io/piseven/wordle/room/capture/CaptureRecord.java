@@ -0,0 +1,35 @@
+package io.piseven.wordle.room.capture;
+
+/**
+ * An event captured by the {@link TrafficRecorder}. Timestamps are {@link System#nanoTime()} values, meaningful
+ * only relative to each other.
+ */
+public sealed interface CaptureRecord {
+
+    long nanos();
+
+    /**
+     * A WebSocket session was opened.
+     */
+    record Opened(long nanos, String sessionID) implements CaptureRecord {
+    }
+
+    /**
+     * A text message was received from a session, as sent by the client.
+     */
+    record Received(long nanos, String sessionID, String payload) implements CaptureRecord {
+    }
+
+    /**
+     * A WebSocket session was closed with the given close code.
+     */
+    record Closed(long nanos, String sessionID, int code) implements CaptureRecord {
+    }
+
+    /**
+     * A room was created, e.g. through the REST API, so that replayed messages find it.
+     */
+    record RoomCreated(long nanos, String roomID, int maxRounds, int maxPlayers, int roundTimeLimitSeconds,
+                       int gameTimeLimitSeconds) implements CaptureRecord {
+    }
+}
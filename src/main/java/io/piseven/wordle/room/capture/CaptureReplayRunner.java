@@ -0,0 +1,43 @@
+package io.piseven.wordle.room.capture;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays the capture at {@code wordle.replay.path} once the application started, at {@code wordle.replay.speed}
+ * (0, the default, for as fast as possible), and logs the outcome.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty("wordle.replay.path")
+class CaptureReplayRunner implements ApplicationRunner {
+
+    private final CaptureReplayer captureReplayer;
+
+    @Value("${wordle.replay.path}")
+    private String path;
+
+    @Value("${wordle.replay.speed:0}")
+    private double speed;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(path)), 1 << 16)) {
+            var result = captureReplayer.replay(in, speed);
+            log.info("Replayed {} records from {} in {} ms: {} client messages ({} msg/s), {} server messages, {} failures",
+                    result.records(), path, result.elapsedNanos() / 1_000_000, result.receivedMessages(),
+                    Math.round(result.messagesPerSecond()), result.sentMessages(), result.failures());
+        }
+    }
+}
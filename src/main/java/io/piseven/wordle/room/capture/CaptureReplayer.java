@@ -0,0 +1,118 @@
+package io.piseven.wordle.room.capture;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.RoomSocketHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a capture recorded by the {@link TrafficRecorder} against stub sessions, through the same
+ * {@link RoomSocketHandler} and {@link io.piseven.wordle.room.messages.incoming.MessageProcessor} as live traffic.
+ * <p>
+ * Captured rooms are recreated with their original IDs and captured sessions keep their IDs, so the messages
+ * referring to them apply unchanged. The capture is replayed on the calling thread, either paced to its original
+ * timing (optionally sped up) or as fast as possible, which turns captured traffic into a repeatable benchmark.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaptureReplayer {
+
+    private final RoomManager roomManager;
+    private final RoomSocketHandler roomSocketHandler;
+
+    /**
+     * Replays a capture.
+     *
+     * @param in    the capture, buffered by the caller
+     * @param speed the speed relative to the original timing, e.g. 1 for the original speed, or 0 for as fast as possible
+     * @return the outcome of the replay
+     * @throws IOException if the capture cannot be read
+     */
+    public ReplayResult replay(InputStream in, double speed) throws IOException {
+        var reader = new CaptureReader(in);
+        Map<String, StubWebSocketSession> sessions = new HashMap<>();
+        var sentMessages = new LongAdder();
+        long records = 0;
+        long receivedMessages = 0;
+        long failures = 0;
+        long start = System.nanoTime();
+        Long firstNanos = null;
+        while (true) {
+            CaptureRecord record;
+            try {
+                record = reader.next();
+            } catch (EOFException e) {
+                log.warn("Capture ends with a truncated record, replayed up to it");
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            if (firstNanos == null) {
+                firstNanos = record.nanos();
+            }
+            if (speed > 0) {
+                awaitUntil(start + (long) ((record.nanos() - firstNanos) / speed));
+            }
+            records++;
+            try {
+                if (record instanceof CaptureRecord.RoomCreated room) {
+                    roomManager.restore(List.of(Game.create(room.roomID(), room.maxRounds(), room.maxPlayers(),
+                            room.roundTimeLimitSeconds(), room.gameTimeLimitSeconds())));
+                } else if (record instanceof CaptureRecord.Opened opened) {
+                    var session = new StubWebSocketSession(opened.sessionID(), sentMessages);
+                    sessions.put(opened.sessionID(), session);
+                    roomSocketHandler.afterConnectionEstablished(session);
+                } else if (record instanceof CaptureRecord.Received received) {
+                    receivedMessages++;
+                    roomSocketHandler.handleMessage(session(sessions, received.sessionID(), sentMessages),
+                            new TextMessage(received.payload()));
+                } else if (record instanceof CaptureRecord.Closed closed) {
+                    var session = sessions.remove(closed.sessionID());
+                    if (session != null) {
+                        session.close();
+                        roomSocketHandler.afterConnectionClosed(session, new CloseStatus(closed.code()));
+                    }
+                }
+            } catch (Exception e) {
+                failures++;
+                log.debug("Replayed record {} failed: {}", record, e.getMessage());
+            }
+        }
+        return new ReplayResult(records, receivedMessages, sentMessages.sum(), failures, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the stub of a session, opening one if the capture started after the session was opened.
+     */
+    private StubWebSocketSession session(Map<String, StubWebSocketSession> sessions, String sessionID, LongAdder sentMessages) throws Exception {
+        var session = sessions.get(sessionID);
+        if (session == null) {
+            session = new StubWebSocketSession(sessionID, sentMessages);
+            sessions.put(sessionID, session);
+            roomSocketHandler.afterConnectionEstablished(session);
+        }
+        return session;
+    }
+
+    private static void awaitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.piseven.wordle.room.capture;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes capture records in the compact binary capture format.
+ * <p>
+ * The file starts with a magic number and a version. Every record is a tag byte followed by the zig-zag varint
+ * delta of its timestamp to the previous record. Session IDs are written once, when first seen, and referred to
+ * by a varint index afterwards; payloads are length-prefixed UTF-8. Not thread-safe.
+ */
+final class CaptureWriter {
+
+    static final int MAGIC = 0x57434150;
+    static final int VERSION = 1;
+    static final int OPENED = 1;
+    static final int RECEIVED = 2;
+    static final int CLOSED = 3;
+    static final int ROOM_CREATED = 4;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> sessionIndexes = new HashMap<>();
+    private long previousNanos;
+    private int nextSessionIndex = 1;
+
+    /**
+     * @param out        the stream to write to, buffered by the caller
+     * @param startNanos the timestamp the first record's delta is relative to
+     */
+    CaptureWriter(OutputStream out, long startNanos) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.previousNanos = startNanos;
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+    }
+
+    void write(CaptureRecord record) throws IOException {
+        if (record instanceof CaptureRecord.Opened opened) {
+            header(OPENED, opened.nanos());
+            session(opened.sessionID());
+        } else if (record instanceof CaptureRecord.Received received) {
+            header(RECEIVED, received.nanos());
+            session(received.sessionID());
+            byte[] payload = received.payload().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(payload.length);
+            out.write(payload);
+        } else if (record instanceof CaptureRecord.Closed closed) {
+            header(CLOSED, closed.nanos());
+            session(closed.sessionID());
+            sessionIndexes.remove(closed.sessionID());
+            writeVarLong(closed.code());
+        } else if (record instanceof CaptureRecord.RoomCreated room) {
+            header(ROOM_CREATED, room.nanos());
+            out.writeUTF(room.roomID());
+            writeVarLong(room.maxRounds());
+            writeVarLong(room.maxPlayers());
+            writeVarLong(room.roundTimeLimitSeconds());
+            writeVarLong(room.gameTimeLimitSeconds());
+        }
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private void header(int tag, long nanos) throws IOException {
+        out.writeByte(tag);
+        long delta = nanos - previousNanos;
+        writeVarLong((delta << 1) ^ (delta >> 63));
+        previousNanos = nanos;
+    }
+
+    /**
+     * Writes a known session as its index, a new one as 0 followed by its ID.
+     */
+    private void session(String sessionID) throws IOException {
+        Integer index = sessionIndexes.get(sessionID);
+        if (index != null) {
+            writeVarLong(index);
+            return;
+        }
+        writeVarLong(0);
+        out.writeUTF(sessionID);
+        sessionIndexes.put(sessionID, nextSessionIndex++);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
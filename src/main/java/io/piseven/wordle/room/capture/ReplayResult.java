@@ -0,0 +1,20 @@
+package io.piseven.wordle.room.capture;
+
+/**
+ * The outcome of replaying a capture.
+ *
+ * @param records          the number of records replayed
+ * @param receivedMessages the number of client messages fed into the server
+ * @param sentMessages     the number of messages the server sent to the stub sessions
+ * @param failures         the number of records the server failed on with an exception
+ * @param elapsedNanos     the wall-clock duration of the replay
+ */
+public record ReplayResult(long records, long receivedMessages, long sentMessages, long failures, long elapsedNanos) {
+
+    /**
+     * Returns the replayed client messages per second.
+     */
+    public double messagesPerSecond() {
+        return elapsedNanos == 0 ? 0 : receivedMessages * 1e9 / elapsedNanos;
+    }
+}
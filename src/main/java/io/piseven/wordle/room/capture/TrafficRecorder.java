@@ -0,0 +1,130 @@
+package io.piseven.wordle.room.capture;
+
+import io.piseven.wordle.room.RoomManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records inbound WebSocket traffic and room creations to a capture file, for replay with the {@link CaptureReplayer}.
+ * <p>
+ * Recording is enabled by setting {@code wordle.capture.path}. The WebSocket threads only take a timestamp and
+ * offer the record to a bounded queue; a single writer thread encodes and writes it. When the queue is full the
+ * record is dropped and counted rather than slowing down the game, and the drops are logged on shutdown.
+ */
+@Slf4j
+@Component
+public class TrafficRecorder implements DisposableBean {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private final BlockingQueue<CaptureRecord> queue;
+    private final Thread writerThread;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+
+    TrafficRecorder(RoomManager roomManager,
+                    @Value("${wordle.capture.path:}") String path,
+                    @Value("${wordle.capture.queue-capacity:65536}") int queueCapacity) throws IOException {
+        if (path.isBlank()) {
+            this.queue = null;
+            this.writerThread = null;
+            return;
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(path)), 1 << 16);
+        CaptureWriter writer = new CaptureWriter(out, System.nanoTime());
+        this.running = true;
+        this.writerThread = new Thread(() -> writeLoop(writer, out), "traffic-recorder");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        roomManager.onRoomCreated(room -> offer(new CaptureRecord.RoomCreated(System.nanoTime(), room.id(),
+                room.maxRounds(), room.maxPlayers(), room.roundTimeLimitSeconds(), room.gameTimeLimitSeconds())));
+        log.info("Recording WebSocket traffic to {}", path);
+    }
+
+    /**
+     * Returns whether traffic is being recorded.
+     */
+    public boolean isEnabled() {
+        return queue != null;
+    }
+
+    public void recordOpened(String sessionID) {
+        if (queue != null) {
+            offer(new CaptureRecord.Opened(System.nanoTime(), sessionID));
+        }
+    }
+
+    public void recordReceived(String sessionID, String payload) {
+        if (queue != null) {
+            offer(new CaptureRecord.Received(System.nanoTime(), sessionID, payload));
+        }
+    }
+
+    public void recordClosed(String sessionID, int code) {
+        if (queue != null) {
+            offer(new CaptureRecord.Closed(System.nanoTime(), sessionID, code));
+        }
+    }
+
+    /**
+     * Stops recording after writing the records still queued.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        if (dropped.sum() > 0) {
+            log.warn("Dropped {} capture records because the writer could not keep up", dropped.sum());
+        }
+    }
+
+    private void offer(CaptureRecord record) {
+        if (!queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop(CaptureWriter writer, OutputStream out) {
+        List<CaptureRecord> batch = new ArrayList<>(BATCH_SIZE);
+        try (out) {
+            while (running || !queue.isEmpty()) {
+                CaptureRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (CaptureRecord record : batch) {
+                    writer.write(record);
+                }
+                batch.clear();
+                if (queue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.error("Traffic recording stopped: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
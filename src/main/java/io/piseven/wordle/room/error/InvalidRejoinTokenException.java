@@ -0,0 +1,7 @@
+package io.piseven.wordle.room.error;
+
+public class InvalidRejoinTokenException extends RuntimeException {
+    public InvalidRejoinTokenException(String roomId) {
+        super("No restored player of room '" + roomId + "' holds this rejoin token.");
+    }
+}
@@ -0,0 +1,7 @@
+package io.piseven.wordle.room.error;
+
+public class ServerDrainingException extends RuntimeException {
+    public ServerDrainingException() {
+        super("Server is draining and does not accept new rooms or players");
+    }
+}
@@ -0,0 +1,7 @@
+package io.piseven.wordle.room.messages.incoming;
+
+/**
+ * Issued by the server when a game's deadline passes. Not accepted from clients.
+ */
+public record GameTimeoutMessage(String roomID) implements Message {
+}
@@ -0,0 +1,8 @@
+package io.piseven.wordle.room.messages.incoming;
+
+import io.piseven.wordle.solver.Guess;
+
+import java.util.List;
+
+public record HintRequestMessage(String roomID, String sessionID, List<Guess> guesses) implements Message {
+}
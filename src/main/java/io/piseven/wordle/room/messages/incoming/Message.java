@@ -10,7 +10,18 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
         @JsonSubTypes.Type(value = IncrementScoreMessage.class, name = "INCREMENT_SCORE"),
         @JsonSubTypes.Type(value = PlayerSetMessage.class, name = "PLAYER_SET"),
         @JsonSubTypes.Type(value = PlayerLeftMessage.class, name = "PLAYER_LEFT"),
+        @JsonSubTypes.Type(value = RejoinRoomMessage.class, name = "REJOIN_ROOM"),
+        @JsonSubTypes.Type(value = HintRequestMessage.class, name = "HINT_REQUEST"),
+        @JsonSubTypes.Type(value = PlayAnalysisRequestMessage.class, name = "PLAY_ANALYSIS_REQUEST"),
 })
 public interface Message {
 
+    /**
+     * Returns the ID of the room the message is about, if it carries one.
+     *
+     * @return the room ID, or null for messages that are not bound to a room
+     */
+    default String roomID() {
+        return null;
+    }
 }
@@ -1,16 +1,30 @@
 package io.piseven.wordle.room.messages.incoming;
 
+import io.piseven.wordle.model.Game;
 import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.error.InvalidRejoinTokenException;
 import io.piseven.wordle.room.error.MessageProcessingException;
+import io.piseven.wordle.room.error.PlayerNotFoundException;
 import io.piseven.wordle.room.error.RoomNotFoundException;
+import io.piseven.wordle.room.error.ServerDrainingException;
 import io.piseven.wordle.room.messages.outgoing.BroadcastMessage;
 import io.piseven.wordle.room.messages.outgoing.Broadcaster;
+import io.piseven.wordle.room.session.SessionRegistry;
+import io.piseven.wordle.room.timer.RoundDeadlineScheduler;
+import io.piseven.wordle.solver.WordleSolver;
+import io.piseven.wordle.solver.error.InvalidGuessException;
+import io.piseven.wordle.solver.error.SolverBusyException;
+import io.piseven.wordle.solver.error.SolverUnavailableException;
+import io.piseven.wordle.tournament.TournamentManager;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -32,15 +46,29 @@ interface MessageConsumer<T extends Message> extends Consumer<T> {
  * - {@link IncrementScoreMessage}
  * - {@link PlayerLeftMessage}
  * - {@link PlayerSetMessage}
+ * - {@link RejoinRoomMessage}
+ * - {@link HintRequestMessage} and {@link PlayAnalysisRequestMessage}, answered asynchronously by the {@link WordleSolver}
+ * - {@link RoundTimeoutMessage} and {@link GameTimeoutMessage}, issued by the server itself
  */
 @Component
 public final class MessageProcessor {
 
     private final Map<Class<? extends Message>, MessageConsumer<? extends Message>> messageConsumers;
+    private final MessageStats stats;
 
     @SuppressWarnings("ClassEscapesDefinedScope")
     public MessageProcessor(List<MessageConsumer<? extends Message>> consumers) {
         this.messageConsumers = consumers.stream().collect(Collectors.toMap(MessageConsumer::getMessageType, consumer -> consumer));
+        this.stats = new MessageStats(messageConsumers.keySet());
+    }
+
+    /**
+     * Returns the counters of the processed messages.
+     *
+     * @return the message statistics of this processor
+     */
+    public MessageStats getStats() {
+        return stats;
     }
 
     /**
@@ -56,12 +84,32 @@ public final class MessageProcessor {
             throw new MessageProcessingException("UNKNOWN_MESSAGE_TYPE",
                     "No consumer found for message type: " + message.getClass());
         }
+        long start = System.nanoTime();
         try {
             consumer.accept(message);
         } catch (RoomNotFoundException e) {
+            stats.recordError();
             throw new MessageProcessingException("ROOM_NOT_FOUND", e.getMessage());
+        } catch (ServerDrainingException e) {
+            stats.recordError();
+            throw new MessageProcessingException("SERVER_DRAINING", e.getMessage());
+        } catch (InvalidRejoinTokenException e) {
+            stats.recordError();
+            throw new MessageProcessingException("INVALID_REJOIN_TOKEN", e.getMessage());
+        } catch (InvalidGuessException e) {
+            stats.recordError();
+            throw new MessageProcessingException("INVALID_GUESS", e.getMessage());
+        } catch (SolverUnavailableException e) {
+            stats.recordError();
+            throw new MessageProcessingException("SOLVER_UNAVAILABLE", e.getMessage());
+        } catch (SolverBusyException e) {
+            stats.recordError();
+            throw new MessageProcessingException("SOLVER_BUSY", e.getMessage());
         } catch (Exception e) {
+            stats.recordError();
             throw new MessageProcessingException("UNKNOWN_ERROR", "An unknown error occurred while processing the message");
+        } finally {
+            stats.recordProcessed(message, System.nanoTime() - start);
         }
     }
 }
@@ -75,6 +123,7 @@ class JoinRoomMessageConsumer implements MessageConsumer<JoinRoomMessage> {
 
     private final RoomManager roomManager;
     private final Broadcaster broadcaster;
+    private final SessionRegistry sessionRegistry;
 
     @Override
     public void accept(JoinRoomMessage message) {
@@ -89,8 +138,9 @@ class JoinRoomMessageConsumer implements MessageConsumer<JoinRoomMessage> {
         }
 
         game = roomManager.addPlayerToGame(message.roomID(), message.sessionID(), message.playerName());
+        sessionRegistry.join(game.getId(), message.sessionID());
         var playerJoined = BroadcastMessage.playerJoined(message.playerName(), game);
-        broadcaster.broadcastToSessions(game.getPlayers().keySet(), playerJoined);
+        broadcaster.broadcastToRoom(game.getId(), playerJoined);
     }
 
     @Override
@@ -99,6 +149,36 @@ class JoinRoomMessageConsumer implements MessageConsumer<JoinRoomMessage> {
     }
 }
 
+/**
+ * Handles {@link RejoinRoomMessage}: a player reconnected with a new session and continues where it left off.
+ */
+@Component
+@RequiredArgsConstructor
+class RejoinRoomMessageConsumer implements MessageConsumer<RejoinRoomMessage> {
+
+    private final RoomManager roomManager;
+    private final Broadcaster broadcaster;
+    private final SessionRegistry sessionRegistry;
+    private final RoundDeadlineScheduler roundDeadlineScheduler;
+
+    @Override
+    public void accept(RejoinRoomMessage message) {
+        var restored = roomManager.rejoinGame(message.roomID(), message.rejoinToken(), message.sessionID());
+        var game = roomManager.getGame(restored.roomId());
+        sessionRegistry.join(game.getId(), message.sessionID());
+        roundDeadlineScheduler.cancelPlayer(restored.playerID());
+        roundDeadlineScheduler.scheduleNextRound(game.snapshot(), message.sessionID());
+        var player = game.snapshot().players().get(message.sessionID());
+        var playerRejoined = BroadcastMessage.playerRejoined(player.name(), game);
+        broadcaster.broadcastToRoom(game.getId(), playerRejoined);
+    }
+
+    @Override
+    public Class<RejoinRoomMessage> getMessageType() {
+        return RejoinRoomMessage.class;
+    }
+}
+
 /**
  * Handles {@link StartGameMessage}: initiates the game for a room.
  */
@@ -107,11 +187,13 @@ class JoinRoomMessageConsumer implements MessageConsumer<JoinRoomMessage> {
 class StartGameMessageConsumer implements MessageConsumer<StartGameMessage> {
 
     private final RoomManager roomManager;
+    private final RoundDeadlineScheduler roundDeadlineScheduler;
 
     @Override
     public void accept(StartGameMessage message) {
-        var game = roomManager.getGame(message.roomID());
-        game.startGame();
+        if (roomManager.startGame(message.roomID())) {
+            roundDeadlineScheduler.scheduleGame(roomManager.getGame(message.roomID()).snapshot());
+        }
     }
 
     @Override
@@ -129,24 +211,37 @@ class IncrementScoreMessageConsumer implements MessageConsumer<IncrementScoreMes
 
     private final RoomManager roomManager;
     private final Broadcaster broadcaster;
+    private final TournamentManager tournamentManager;
+    private final RoundDeadlineScheduler roundDeadlineScheduler;
 
     @Override
     public void accept(IncrementScoreMessage message) {
         var game = roomManager.getGame(message.roomID());
         game.incrementPlayerScore(message.sessionID(), message.score());
+        roundPlayed(game, message.sessionID(), message.score());
+    }
 
-        var player = game.getPlayers().get(message.sessionID());
+    /**
+     * Notifies the room about a player's finished round, schedules the player's next round deadline
+     * and completes the game once all players are done.
+     */
+    void roundPlayed(Game game, String sessionID, int score) {
+        var snapshot = game.snapshot();
+        var player = snapshot.players().get(sessionID);
+        tournamentManager.recordScore(game.getId(), player.id(), player.name(), score);
+        roundDeadlineScheduler.scheduleNextRound(snapshot, sessionID);
 
-        var scoreUpdate = BroadcastMessage.scoreUpdated(message.sessionID(), game);
-        var playerMoved = BroadcastMessage.playerMovedForward(player.getName(), game);
+        var scoreUpdate = BroadcastMessage.scoreUpdated(sessionID, game);
+        var playerMoved = BroadcastMessage.playerMovedForward(player.name(), game);
 
-        broadcaster.sendToSession(message.sessionID(), scoreUpdate);
-        broadcaster.broadcastToSessions(game.getPlayers().keySet(), message.sessionID(), playerMoved);
+        broadcaster.sendToSession(sessionID, scoreUpdate);
+        broadcaster.broadcastToRoom(game.getId(), sessionID, playerMoved);
 
         if (game.areAllPlayersDone()) {
-            game.endGame();
+            roomManager.endGame(game.getId());
+            roundDeadlineScheduler.cancelGame(game.snapshot());
             var completed = BroadcastMessage.gameCompleted(game);
-            broadcaster.broadcastToSessions(game.getPlayers().keySet(), completed);
+            broadcaster.broadcastToRoom(game.getId(), completed);
         }
     }
 
@@ -156,6 +251,65 @@ class IncrementScoreMessageConsumer implements MessageConsumer<IncrementScoreMes
     }
 }
 
+/**
+ * Handles {@link RoundTimeoutMessage}: advances a player whose round deadline passed, with zero score.
+ */
+@Component
+@RequiredArgsConstructor
+class RoundTimeoutMessageConsumer implements MessageConsumer<RoundTimeoutMessage> {
+
+    private final RoomManager roomManager;
+    private final IncrementScoreMessageConsumer incrementScoreMessageConsumer;
+
+    @Override
+    public void accept(RoundTimeoutMessage message) {
+        var game = roomManager.getGame(message.roomID());
+        if (game.advanceTimedOutRound(message.sessionID(), message.round())) {
+            incrementScoreMessageConsumer.roundPlayed(game, message.sessionID(), 0);
+        }
+    }
+
+    @Override
+    public Class<RoundTimeoutMessage> getMessageType() {
+        return RoundTimeoutMessage.class;
+    }
+}
+
+/**
+ * Handles {@link GameTimeoutMessage}: completes a game whose deadline passed. The forfeited rounds count as
+ * played with zero score, in the room as well as in the standings of its tournament.
+ */
+@Component
+@RequiredArgsConstructor
+class GameTimeoutMessageConsumer implements MessageConsumer<GameTimeoutMessage> {
+
+    private final RoomManager roomManager;
+    private final Broadcaster broadcaster;
+    private final TournamentManager tournamentManager;
+    private final RoundDeadlineScheduler roundDeadlineScheduler;
+
+    @Override
+    public void accept(GameTimeoutMessage message) {
+        var game = roomManager.getGame(message.roomID());
+        if (!game.isGameInProgress()) {
+            return;
+        }
+        for (var player : game.forfeitRemainingRounds()) {
+            for (int round = player.currentRound(); round < game.getMaxRounds(); round++) {
+                tournamentManager.recordScore(game.getId(), player.id(), player.name(), 0);
+            }
+        }
+        roomManager.endGame(game.getId());
+        roundDeadlineScheduler.cancelGame(game.snapshot());
+        broadcaster.broadcastToRoom(game.getId(), BroadcastMessage.gameCompleted(game));
+    }
+
+    @Override
+    public Class<GameTimeoutMessage> getMessageType() {
+        return GameTimeoutMessage.class;
+    }
+}
+
 /**
  * Handles {@link PlayerLeftMessage}: removes a player from the game and notifies others.
  */
@@ -165,16 +319,18 @@ class PlayerLeftMessageConsumer implements MessageConsumer<PlayerLeftMessage> {
 
     private final RoomManager roomManager;
     private final Broadcaster broadcaster;
+    private final RoundDeadlineScheduler roundDeadlineScheduler;
 
     @Override
     public void accept(PlayerLeftMessage message) {
         var game = roomManager.getGameBasedOnPlayerID(message.sessionID());
-        var player = game.getPlayers().get(message.sessionID());
+        var player = game.snapshot().players().get(message.sessionID());
 
-        roomManager.purgePlayerFromGame(game.getId(), player.getId());
+        roomManager.purgePlayerFromGame(game.getId(), player.id());
+        roundDeadlineScheduler.cancelPlayer(player.id());
 
-        var leftBroadcast = BroadcastMessage.playerLeft(player.getName());
-        broadcaster.broadcastToSessions(game.getPlayers().keySet(), leftBroadcast);
+        var leftBroadcast = BroadcastMessage.playerLeft(player.name());
+        broadcaster.broadcastToRoom(game.getId(), leftBroadcast);
     }
 
     @Override
@@ -202,3 +358,84 @@ class PlayerSetMessageConsumer implements MessageConsumer<PlayerSetMessage> {
         return PlayerSetMessage.class;
     }
 }
+
+/**
+ * Handles {@link HintRequestMessage}: suggests the next guess to a player. The solver runs on its own pool and
+ * the hint is sent to the player once it is ready, so the WebSocket thread returns immediately. The reply is sent
+ * from the application task executor, which runs on virtual threads when they are enabled, so a blocking send
+ * never holds a solver worker.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class HintRequestMessageConsumer implements MessageConsumer<HintRequestMessage> {
+
+    private final RoomManager roomManager;
+    private final Broadcaster broadcaster;
+    private final WordleSolver wordleSolver;
+    private final Executor applicationTaskExecutor;
+
+    @Override
+    public void accept(HintRequestMessage message) {
+        var game = roomManager.getGame(message.roomID());
+        if (!game.snapshot().players().containsKey(message.sessionID())) {
+            throw new PlayerNotFoundException(message.sessionID());
+        }
+        wordleSolver.hint(message.guesses()).whenCompleteAsync((hint, failure) -> {
+            if (failure != null) {
+                broadcaster.sendToSession(message.sessionID(), BroadcastMessage.hintFailed(reason(failure)));
+            } else {
+                broadcaster.sendToSession(message.sessionID(), BroadcastMessage.hint(hint));
+            }
+        }, applicationTaskExecutor);
+    }
+
+    static String reason(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof InvalidGuessException) {
+            return cause.getMessage();
+        }
+        log.error("Solver failed: {}", cause.getMessage(), cause);
+        return "The solver failed";
+    }
+
+    @Override
+    public Class<HintRequestMessage> getMessageType() {
+        return HintRequestMessage.class;
+    }
+}
+
+/**
+ * Handles {@link PlayAnalysisRequestMessage}: compares a player's guesses with the best guesses, off the WebSocket thread.
+ * Like hints, the reply is sent from the application task executor.
+ */
+@Component
+@RequiredArgsConstructor
+class PlayAnalysisRequestMessageConsumer implements MessageConsumer<PlayAnalysisRequestMessage> {
+
+    private final RoomManager roomManager;
+    private final Broadcaster broadcaster;
+    private final WordleSolver wordleSolver;
+    private final Executor applicationTaskExecutor;
+
+    @Override
+    public void accept(PlayAnalysisRequestMessage message) {
+        var game = roomManager.getGame(message.roomID());
+        if (!game.snapshot().players().containsKey(message.sessionID())) {
+            throw new PlayerNotFoundException(message.sessionID());
+        }
+        wordleSolver.analyze(message.answer(), message.guesses()).whenCompleteAsync((steps, failure) -> {
+            if (failure != null) {
+                broadcaster.sendToSession(message.sessionID(),
+                        BroadcastMessage.hintFailed(HintRequestMessageConsumer.reason(failure)));
+            } else {
+                broadcaster.sendToSession(message.sessionID(), BroadcastMessage.playAnalysis(steps));
+            }
+        }, applicationTaskExecutor);
+    }
+
+    @Override
+    public Class<PlayAnalysisRequestMessage> getMessageType() {
+        return PlayAnalysisRequestMessage.class;
+    }
+}
@@ -0,0 +1,115 @@
+package io.piseven.wordle.room.messages.incoming;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counters kept by the {@link MessageProcessor} for the ops dashboard.
+ * <p>
+ * Counting a message costs a few {@link LongAdder} increments. The slowest rooms of the current sampling window
+ * are tracked behind a volatile threshold, so only messages slower than the current top N take a lock.
+ */
+public final class MessageStats {
+
+    private static final int SLOWEST_ROOM_COUNT = 5;
+
+    /**
+     * The slowest message processed for a room in a sampling window.
+     *
+     * @param roomID the ID of the room
+     * @param micros the processing time of the room's slowest message, in microseconds
+     */
+    public record SlowRoom(String roomID, long micros) {
+    }
+
+    private final Map<Class<? extends Message>, LongAdder> countByType = new HashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final ReentrantLock slowestLock = new ReentrantLock();
+    private final Map<String, Long> slowestNanos = new HashMap<>();
+    private volatile long slowThresholdNanos;
+
+    MessageStats(Iterable<Class<? extends Message>> messageTypes) {
+        messageTypes.forEach(type -> countByType.put(type, new LongAdder()));
+    }
+
+    void recordProcessed(Message message, long nanos) {
+        var count = countByType.get(message.getClass());
+        if (count != null) {
+            count.increment();
+        }
+        String roomID = message.roomID();
+        if (roomID != null && nanos > slowThresholdNanos) {
+            recordSlow(roomID, nanos);
+        }
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Returns the number of processed messages per message type since startup.
+     */
+    public Map<String, Long> countByType() {
+        Map<String, Long> counts = new HashMap<>();
+        countByType.forEach((type, count) -> counts.put(type.getSimpleName(), count.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the number of processed messages since startup.
+     */
+    public long countProcessed() {
+        long total = 0;
+        for (LongAdder count : countByType.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of messages that failed since startup.
+     */
+    public long countErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Returns the slowest rooms of the sampling window that just ended, slowest first, and starts a new window.
+     */
+    public List<SlowRoom> drainSlowestRooms() {
+        slowestLock.lock();
+        try {
+            List<SlowRoom> slowest = new ArrayList<>(slowestNanos.size());
+            slowestNanos.forEach((roomID, nanos) -> slowest.add(new SlowRoom(roomID, nanos / 1_000)));
+            slowest.sort(Comparator.comparingLong(SlowRoom::micros).reversed());
+            slowestNanos.clear();
+            slowThresholdNanos = 0;
+            return slowest;
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    private void recordSlow(String roomID, long nanos) {
+        slowestLock.lock();
+        try {
+            slowestNanos.merge(roomID, nanos, Math::max);
+            if (slowestNanos.size() > SLOWEST_ROOM_COUNT) {
+                slowestNanos.entrySet().stream()
+                        .min(Map.Entry.comparingByValue())
+                        .ifPresent(fastest -> slowestNanos.remove(fastest.getKey()));
+            }
+            if (slowestNanos.size() == SLOWEST_ROOM_COUNT) {
+                slowThresholdNanos = slowestNanos.values().stream().mapToLong(Long::longValue).min().orElse(0);
+            }
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package io.piseven.wordle.room.messages.incoming;
+
+import java.util.List;
+
+public record PlayAnalysisRequestMessage(String roomID, String sessionID, String answer, List<String> guesses) implements Message {
+}
@@ -0,0 +1,4 @@
+package io.piseven.wordle.room.messages.incoming;
+
+public record RejoinRoomMessage(String roomID, String rejoinToken, String sessionID) implements Message {
+}
@@ -0,0 +1,7 @@
+package io.piseven.wordle.room.messages.incoming;
+
+/**
+ * Issued by the server when a player's round deadline passes. Not accepted from clients.
+ */
+public record RoundTimeoutMessage(String roomID, String sessionID, int round) implements Message {
+}
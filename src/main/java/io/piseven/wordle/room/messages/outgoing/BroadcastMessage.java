@@ -1,10 +1,13 @@
 package io.piseven.wordle.room.messages.outgoing;
 
 import io.piseven.wordle.model.Game;
+import io.piseven.wordle.solver.Hint;
+import io.piseven.wordle.tournament.Standing;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.List;
 import java.util.Map;
 
 enum BroadcastMessageType {
@@ -15,7 +18,13 @@ enum BroadcastMessageType {
     PLAYER_LEFT,
     SCORE_UPDATED,
     GAME_OVER,
-    GAME_IN_PROGRESS
+    GAME_IN_PROGRESS,
+    PLAYER_REJOINED,
+    SERVER_RESTARTING,
+    STANDINGS_UPDATED,
+    HINT,
+    PLAY_ANALYSIS,
+    HINT_FAILED
 }
 
 @Getter
@@ -28,6 +37,10 @@ public final class BroadcastMessage {
         return new BroadcastMessage(BroadcastMessageType.PLAYER_JOINED, Map.of("name", playerName, "game", game));
     }
 
+    public static BroadcastMessage playerRejoined(String playerName, Game game) {
+        return new BroadcastMessage(BroadcastMessageType.PLAYER_REJOINED, Map.of("name", playerName, "game", game));
+    }
+
     public static BroadcastMessage playerSet(String playerID) {
         return new BroadcastMessage(BroadcastMessageType.PLAYER_SET, Map.of("playerID", playerID));
     }
@@ -56,4 +69,28 @@ public final class BroadcastMessage {
         return new BroadcastMessage(BroadcastMessageType.GAME_IN_PROGRESS, null);
     }
 
+    public static BroadcastMessage standingsUpdated(String tournamentID, List<Standing> standings) {
+        return new BroadcastMessage(BroadcastMessageType.STANDINGS_UPDATED, Map.of("tournamentID", tournamentID, "standings", standings));
+    }
+
+    /**
+     * @param rejoinToken the token the client presents in {@code REJOIN_ROOM}, or null if it has no room to rejoin
+     */
+    public static BroadcastMessage serverRestarting(String rejoinToken) {
+        return new BroadcastMessage(BroadcastMessageType.SERVER_RESTARTING,
+                rejoinToken == null ? null : Map.of("rejoinToken", rejoinToken));
+    }
+
+    public static BroadcastMessage hint(Hint hint) {
+        return new BroadcastMessage(BroadcastMessageType.HINT, hint);
+    }
+
+    public static BroadcastMessage playAnalysis(List<?> steps) {
+        return new BroadcastMessage(BroadcastMessageType.PLAY_ANALYSIS, Map.of("steps", steps));
+    }
+
+    public static BroadcastMessage hintFailed(String reason) {
+        return new BroadcastMessage(BroadcastMessageType.HINT_FAILED, Map.of("reason", reason));
+    }
+
 }
@@ -7,16 +7,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Collection;
 
 /**
  * Responsible for sending messages to WebSocket sessions.
- * Supports both unicast (single session) and multicast (multiple sessions) messaging.
+ * Supports both unicast (single session) and multicast (all sessions of a room) messaging.
+ * A multicast message is serialized once and the same frame is sent to every recipient. Sessions that negotiated
+ * compression receive a frame compressed by the {@link FrameCompressor}, also once per message.
  */
 @Slf4j
 @Component
@@ -24,6 +24,8 @@ import java.util.stream.Collectors;
 public final class Broadcaster {
 
     private final ObjectMapper objectMapper;
+    private final SessionRegistry sessionRegistry;
+    private final FrameCompressor frameCompressor;
 
     /**
      * Sends a message to a single WebSocket session identified by its ID.
@@ -32,10 +34,10 @@ public final class Broadcaster {
      * @param message   the message to send, which will be serialized to JSON
      */
     public void sendToSession(String sessionId, BroadcastMessage message) {
-        SessionRegistry.fetchSession(sessionId).ifPresentOrElse(session -> {
+        sessionRegistry.fetchSession(sessionId).ifPresentOrElse(session -> {
             try {
                 String json = objectMapper.writeValueAsString(message);
-                session.sendMessage(new TextMessage(json));
+                session.sendMessage(frameCompressor.encode(session, new TextMessage(json)));
             } catch (Exception e) {
                 log.error("Failed to send message to session {}: {}", sessionId, e.getMessage(), e);
             }
@@ -43,42 +45,117 @@ public final class Broadcaster {
     }
 
     /**
-     * Broadcasts a message to multiple WebSocket sessions.
+     * Broadcasts a message to all sessions that joined a room.
      *
-     * @param sessionIDs       a set of session IDs representing the target recipients
-     * @param broadcastMessage the message to broadcast to all specified sessions
+     * @param roomId           the ID of the room whose sessions should receive the message
+     * @param broadcastMessage the message to broadcast
      */
-    public void broadcastToSessions(Set<String> sessionIDs, BroadcastMessage broadcastMessage) {
-        List<WebSocketSession> sessions = SessionRegistry.fetchSession(sessionIDs);
-        if (sessions.isEmpty()) {
+    public void broadcastToRoom(String roomId, BroadcastMessage broadcastMessage) {
+        broadcastToRoom(roomId, null, broadcastMessage);
+    }
+
+    /**
+     * Broadcasts a message to all sessions that joined a room, excluding a specific session.
+     * This is commonly used to avoid sending a message back to the sender.
+     *
+     * @param roomId        the ID of the room whose sessions should receive the message
+     * @param sessionToSkip the session ID to exclude from the broadcast, or null to skip none
+     * @param message       the message to broadcast
+     */
+    public void broadcastToRoom(String roomId, String sessionToSkip, BroadcastMessage message) {
+        WebSocketSession[] sessions = sessionRegistry.fetchRoomSessions(roomId);
+        if (sessions.length == 0) {
             return;
         }
-        try {
-            String json = objectMapper.writeValueAsString(broadcastMessage);
+        Frame frame = serialize(message);
+        if (frame == null) {
+            return;
+        }
+        for (WebSocketSession session : sessions) {
+            if (session.getId().equals(sessionToSkip)) {
+                continue;
+            }
+            send(session, frame);
+        }
+    }
+
+    /**
+     * Broadcasts a message to all sessions of several rooms. The message is serialized once for all rooms.
+     *
+     * @param roomIds the IDs of the rooms whose sessions should receive the message
+     * @param message the message to broadcast
+     */
+    public void broadcastToRooms(Collection<String> roomIds, BroadcastMessage message) {
+        Frame frame = null;
+        for (String roomId : roomIds) {
+            WebSocketSession[] sessions = sessionRegistry.fetchRoomSessions(roomId);
+            if (sessions.length == 0) {
+                continue;
+            }
+            if (frame == null && (frame = serialize(message)) == null) {
+                return;
+            }
             for (WebSocketSession session : sessions) {
-                session.sendMessage(new TextMessage(json));
+                send(session, frame);
             }
+        }
+    }
+
+    /**
+     * Broadcasts a message to every open WebSocket session, regardless of its room.
+     *
+     * @param message the message to broadcast
+     */
+    public void broadcastToAllSessions(BroadcastMessage message) {
+        Frame frame = serialize(message);
+        if (frame == null) {
+            return;
+        }
+        for (WebSocketSession session : sessionRegistry.fetchAllSessions()) {
+            send(session, frame);
+        }
+    }
+
+    private Frame serialize(BroadcastMessage message) {
+        try {
+            return new Frame(new TextMessage(objectMapper.writeValueAsString(message)));
         } catch (JsonProcessingException exception) {
             log.error("Failed to serialize broadcast message: {}", exception.getMessage(), exception);
-        } catch (IOException e) {
-            log.error("Failed to broadcast message to sessions {}: {}", sessionIDs, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void send(WebSocketSession session, Frame frame) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(frame.encode(session));
         } catch (Exception e) {
-            log.error("Unexpected error while broadcasting message to sessions {}: {}", sessionIDs, e.getMessage(), e);
+            log.warn("Failed to send message to session {}: {}", session.getId(), e.getMessage());
         }
     }
 
     /**
-     * Broadcasts a message to multiple WebSocket sessions, excluding a specific session.
-     * This is commonly used to avoid sending a message back to the sender.
-     *
-     * @param sessionIds    the set of all session IDs to consider
-     * @param sessionToSkip the session ID to exclude from the broadcast
-     * @param message       the message to broadcast
+     * A serialized broadcast message, compressed lazily on the first recipient that negotiated compression.
      */
-    public void broadcastToSessions(Set<String> sessionIds, String sessionToSkip, BroadcastMessage message) {
-        Set<String> targetSessionIds = sessionIds.stream()
-                .filter(id -> !id.equals(sessionToSkip))
-                .collect(Collectors.toSet());
-        broadcastToSessions(targetSessionIds, message);
+    private final class Frame {
+
+        private final TextMessage text;
+        private WebSocketMessage<?> compressed;
+
+        private Frame(TextMessage text) {
+            this.text = text;
+        }
+
+        private WebSocketMessage<?> encode(WebSocketSession session) {
+            if (!frameCompressor.accepts(session)) {
+                return text;
+            }
+            if (compressed == null) {
+                compressed = frameCompressor.shouldCompress(text) ? frameCompressor.compress(text) : text;
+            }
+            return compressed;
+        }
     }
 }
@@ -0,0 +1,101 @@
+package io.piseven.wordle.room.messages.outgoing;
+
+import org.springframework.util.Assert;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses outgoing frames for sessions that negotiated the {@link #SUBPROTOCOL} subprotocol.
+ * <p>
+ * The standard {@code permessage-deflate} extension compresses every frame again for every session. For those
+ * clients, frames of at least {@code threshold} bytes are raw-deflated once per broadcast and the same binary
+ * frame is shared by all recipients. Smaller frames are sent as plain text because compressing them costs more
+ * CPU than it saves bandwidth. Clients inflate binary frames with {@code DecompressionStream("deflate-raw")}.
+ */
+public final class FrameCompressor {
+
+    /**
+     * The WebSocket subprotocol a client offers to receive compressed binary frames.
+     */
+    public static final String SUBPROTOCOL = "wordle.v1.deflate";
+
+    private final int threshold;
+    private final int level;
+
+    /**
+     * @param threshold the minimum payload size in bytes for a frame to be compressed
+     * @param level     the deflate compression level, 1 to 9
+     */
+    public FrameCompressor(int threshold, int level) {
+        Assert.isTrue(threshold >= 0, "Compression threshold must not be negative");
+        Assert.isTrue(level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION, "Compression level must be between 1 and 9");
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    /**
+     * Returns whether a session negotiated compressed frames.
+     *
+     * @param session the session to check
+     * @return true if frames for this session may be compressed
+     */
+    public boolean accepts(WebSocketSession session) {
+        return SUBPROTOCOL.equals(session.getAcceptedProtocol());
+    }
+
+    /**
+     * Returns whether a frame is large enough to be compressed.
+     *
+     * @param message the frame to check
+     * @return true if the frame's payload reaches the threshold
+     */
+    public boolean shouldCompress(TextMessage message) {
+        return message.getPayloadLength() >= threshold;
+    }
+
+    /**
+     * Compresses a text frame into a binary frame holding its raw-deflated UTF-8 payload.
+     *
+     * @param message the frame to compress
+     * @return the compressed frame
+     */
+    public BinaryMessage compress(TextMessage message) {
+        return new BinaryMessage(deflate(message.asBytes()));
+    }
+
+    /**
+     * Returns the frame to send to a session: the compressed frame if the session negotiated compression and the
+     * frame reaches the threshold, the text frame otherwise.
+     *
+     * @param session the recipient of the frame
+     * @param message the text frame
+     * @return the frame to send
+     */
+    public WebSocketMessage<?> encode(WebSocketSession session, TextMessage message) {
+        return accepts(session) && shouldCompress(message) ? compress(message) : message;
+    }
+
+    byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(64, payload.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+}
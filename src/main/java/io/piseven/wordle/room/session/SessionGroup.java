@@ -0,0 +1,79 @@
+package io.piseven.wordle.room.session;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Copy-on-write group of the sessions of one room.
+ * <p>
+ * Joins and leaves copy the array and swap it in with a compare-and-set, retrying if another update came first;
+ * readers get the current array through a volatile read and iterate it without locking or allocating.
+ * No lock is taken, so updates made inside a {@code ConcurrentHashMap} compute neither block on a second lock
+ * nor pin a virtual thread beyond the map's own bin lock.
+ */
+final class SessionGroup {
+
+    private static final WebSocketSession[] EMPTY = new WebSocketSession[0];
+    private static final VarHandle SESSIONS;
+
+    static {
+        try {
+            SESSIONS = MethodHandles.lookup().findVarHandle(SessionGroup.class, "sessions", WebSocketSession[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile WebSocketSession[] sessions = EMPTY;
+
+    void add(WebSocketSession session) {
+        WebSocketSession[] current;
+        WebSocketSession[] updated;
+        do {
+            current = sessions;
+            if (indexOf(current, session.getId()) >= 0) {
+                return;
+            }
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = session;
+        } while (!SESSIONS.compareAndSet(this, current, updated));
+    }
+
+    void remove(String sessionID) {
+        WebSocketSession[] current;
+        WebSocketSession[] updated;
+        do {
+            current = sessions;
+            int index = indexOf(current, sessionID);
+            if (index < 0) {
+                return;
+            }
+            updated = current.length == 1 ? EMPTY : new WebSocketSession[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        } while (!SESSIONS.compareAndSet(this, current, updated));
+    }
+
+    boolean isEmpty() {
+        return sessions.length == 0;
+    }
+
+    /**
+     * Returns the current members. The array is shared and must not be modified.
+     */
+    WebSocketSession[] sessions() {
+        return sessions;
+    }
+
+    private static int indexOf(WebSocketSession[] members, String sessionID) {
+        for (int i = 0; i < members.length; i++) {
+            if (members[i].getId().equals(sessionID)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
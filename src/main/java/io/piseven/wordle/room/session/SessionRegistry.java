@@ -1,25 +1,32 @@
 package io.piseven.wordle.room.session;
 
 import lombok.SneakyThrows;
-import lombok.experimental.UtilityClass;
+import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * A utility class to manage active WebSocket sessions across the application.
- * Provides basic operations to register, purge, and fetch WebSocket sessions using session IDs.
+ * Manages the active WebSocket sessions across the application.
+ * <p>
+ * Besides the lookup by session ID, the registry keeps a {@link SessionGroup} per room that is updated when a
+ * session joins or leaves the room, so broadcasts iterate a ready-made array of the room's sessions instead of
+ * looking up every player's session.
  */
-@UtilityClass
+@Component
 public class SessionRegistry {
 
-    private static final Map<String, WebSocketSession> SESSIONS = new ConcurrentHashMap<>();
+    private static final WebSocketSession[] NO_SESSIONS = new WebSocketSession[0];
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, SessionGroup> rooms = new ConcurrentHashMap<>();
+    private final Map<String, String> roomOfSession = new ConcurrentHashMap<>();
 
     /**
      * Registers a new WebSocketSession into the registry.
@@ -30,11 +37,13 @@ public class SessionRegistry {
     public void register(WebSocketSession webSocketSession) {
         Assert.notNull(webSocketSession, "WebSocketSession must not be null");
         Assert.isTrue(webSocketSession.isOpen(), "WebSocketSession must be open");
-        SESSIONS.put(webSocketSession.getId(), webSocketSession);
+        sessions.put(webSocketSession.getId(), webSocketSession);
     }
 
     /**
-     * Removes a session from the registry and closes it with normal status.
+     * Removes a session from the registry and its room, and closes it with normal status.
+     * The session is unregistered before it leaves its room, so a concurrent {@link #join} either sees it gone or
+     * has joined the room before it is left.
      *
      * @param sessionID the ID of the session to purge
      * @throws IllegalArgumentException if the session ID is null or empty
@@ -42,12 +51,56 @@ public class SessionRegistry {
     @SneakyThrows
     public void purge(String sessionID) {
         Assert.hasText(sessionID, "Session id cannot be empty or null");
-        var session = SESSIONS.remove(sessionID);
+        var session = sessions.remove(sessionID);
+        leave(sessionID);
         if (session != null) {
             session.close(CloseStatus.NORMAL);
         }
     }
 
+    /**
+     * Adds a registered session to the group of a room. A session belongs to at most one room.
+     * The session is only added while it is still registered and still belongs to the room, checked within the
+     * update of the room's group, so a session purged or moved concurrently is never left behind in the group.
+     *
+     * @param roomID    the ID of the room
+     * @param sessionID the ID of the session joining the room
+     * @throws IllegalArgumentException if either ID is empty or null
+     */
+    public void join(String roomID, String sessionID) {
+        Assert.hasText(roomID, "Room id cannot be empty or null");
+        Assert.hasText(sessionID, "Session id cannot be empty or null");
+        var session = sessions.get(sessionID);
+        if (session == null) {
+            return;
+        }
+        var previousRoom = roomOfSession.put(sessionID, roomID);
+        if (previousRoom != null && !previousRoom.equals(roomID)) {
+            removeFromGroup(previousRoom, sessionID);
+        }
+        rooms.compute(roomID, (id, group) -> {
+            if (sessions.get(sessionID) != session || !roomID.equals(roomOfSession.get(sessionID))) {
+                roomOfSession.remove(sessionID, roomID);
+                return group;
+            }
+            var joined = group == null ? new SessionGroup() : group;
+            joined.add(session);
+            return joined;
+        });
+    }
+
+    /**
+     * Removes a session from the group of the room it joined, if any.
+     *
+     * @param sessionID the ID of the session leaving its room
+     */
+    public void leave(String sessionID) {
+        var roomID = roomOfSession.remove(sessionID);
+        if (roomID != null) {
+            removeFromGroup(roomID, sessionID);
+        }
+    }
+
     /**
      * Retrieves a WebSocketSession by its session ID, if present.
      *
@@ -55,20 +108,67 @@ public class SessionRegistry {
      * @return an Optional containing the WebSocketSession if found, else empty
      */
     public Optional<WebSocketSession> fetchSession(String sessionID) {
-        return Optional.ofNullable(SESSIONS.get(sessionID));
+        return Optional.ofNullable(sessions.get(sessionID));
+    }
+
+    /**
+     * Retrieves the sessions that joined a room. The returned array is shared and must not be modified;
+     * sessions that closed in the meantime may still be part of it.
+     *
+     * @param roomID the ID of the room
+     * @return the sessions of the room, empty if there are none
+     */
+    public WebSocketSession[] fetchRoomSessions(String roomID) {
+        var group = rooms.get(roomID);
+        return group == null ? NO_SESSIONS : group.sessions();
+    }
+
+    /**
+     * Returns the number of registered sessions.
+     */
+    public int countSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the number of rooms with at least one session.
+     */
+    public int countRoomsWithSessions() {
+        return rooms.size();
     }
 
     /**
-     * Retrieves a list of sessions by a given set of session IDs.
-     * Filters out sessions that are not open.
+     * Retrieves all registered sessions that are still open.
      *
-     * @param sessionIDs the set of session IDs to fetch
-     * @return a list of sessions that are *not open*
+     * @return a list of all open sessions
      */
-    public List<WebSocketSession> fetchSession(Set<String> sessionIDs) {
-        return sessionIDs.stream()
-                .map(SESSIONS::get)
+    public List<WebSocketSession> fetchAllSessions() {
+        return sessions.values().stream()
                 .filter(WebSocketSession::isOpen)
                 .toList();
     }
+
+    /**
+     * Closes all registered sessions with the given status. Sessions are removed from the registry
+     * once their connection is closed.
+     *
+     * @param status the close status to send to the clients
+     */
+    public void closeAll(CloseStatus status) {
+        Collection<WebSocketSession> open = List.copyOf(sessions.values());
+        for (WebSocketSession session : open) {
+            try {
+                session.close(status);
+            } catch (Exception ignored) {
+                // the session is already gone
+            }
+        }
+    }
+
+    private void removeFromGroup(String roomID, String sessionID) {
+        rooms.computeIfPresent(roomID, (id, group) -> {
+            group.remove(sessionID);
+            return group.isEmpty() ? null : group;
+        });
+    }
 }
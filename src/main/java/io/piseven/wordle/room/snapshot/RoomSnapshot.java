@@ -0,0 +1,16 @@
+package io.piseven.wordle.room.snapshot;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.room.RestoredPlayer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rooms read from a snapshot.
+ *
+ * @param games        the restored games
+ * @param rejoinTokens the players that were written with a rejoin token, by token
+ */
+public record RoomSnapshot(List<Game> games, Map<String, RestoredPlayer> rejoinTokens) {
+}
@@ -0,0 +1,159 @@
+package io.piseven.wordle.room.snapshot;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameSnapshot;
+import io.piseven.wordle.model.GameState;
+import io.piseven.wordle.model.Player;
+import io.piseven.wordle.model.PlayerSnapshot;
+import io.piseven.wordle.room.RestoredPlayer;
+import io.piseven.wordle.room.util.RoomUtil;
+import lombok.experimental.UtilityClass;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compact binary encoding of the rooms held by the {@link io.piseven.wordle.room.RoomManager}.
+ * <p>
+ * Layout: a magic number and format version, the room count, then per room its ID, limits, time limits and state,
+ * its players with their progress and rejoin token (empty if none), and the completed players in completion order:
+ * the index of a player still in the room, or {@code 0xFFFF} followed by the ID, name and progress of one who left.
+ * Strings are written as modified UTF-8 and numbers as fixed-size big-endian values.
+ */
+@UtilityClass
+public class RoomSnapshotCodec {
+
+    private static final int MAGIC = 0x57524431; // "WRD1"
+    private static final byte VERSION = 3;
+    private static final int DEPARTED = 0xFFFF;
+    private static final GameState[] STATES = GameState.values();
+
+    /**
+     * Writes the given games to the stream. The stream is flushed but not closed.
+     *
+     * @param games  the snapshots of the games to write
+     * @param output the stream to write to, ideally buffered
+     * @throws IOException if writing to the stream fails
+     */
+    public void write(Collection<GameSnapshot> games, OutputStream output) throws IOException {
+        write(games, playerID -> null, output);
+    }
+
+    /**
+     * Writes the given games to the stream together with a rejoin token for every player. Players with a token are
+     * written under a placeholder ID instead of their current one, see {@link RoomUtil#restoredPlayerId(String, int)},
+     * so neither their token nor their former session ID is part of the restored game.
+     * The stream is flushed but not closed.
+     *
+     * @param games        the snapshots of the games to write
+     * @param rejoinTokens maps the current ID of a player to its rejoin token, or to null to keep the player's ID
+     * @param output       the stream to write to, ideally buffered
+     * @throws IOException if writing to the stream fails
+     */
+    public void write(Collection<GameSnapshot> games, UnaryOperator<String> rejoinTokens, OutputStream output) throws IOException {
+        List<GameSnapshot> rooms = List.copyOf(games);
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(rooms.size());
+        for (GameSnapshot game : rooms) {
+            writeGame(game, rejoinTokens, out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads games previously written by {@link #write(Collection, OutputStream)}.
+     *
+     * @param input the stream to read from, ideally buffered
+     * @return the restored games and the rejoin tokens of their players
+     * @throws IOException if reading fails or the stream is not a room snapshot of the supported version
+     */
+    public RoomSnapshot read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a room snapshot");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported room snapshot version: " + version);
+        }
+        int count = in.readInt();
+        List<Game> games = new ArrayList<>(count);
+        Map<String, RestoredPlayer> rejoinTokens = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            games.add(readGame(in, rejoinTokens));
+        }
+        return new RoomSnapshot(games, rejoinTokens);
+    }
+
+    private void writeGame(GameSnapshot snapshot, UnaryOperator<String> rejoinTokens, DataOutputStream out) throws IOException {
+        List<String> playerIDs = List.copyOf(snapshot.players().keySet());
+        out.writeUTF(snapshot.id());
+        out.writeInt(snapshot.maxRounds());
+        out.writeInt(snapshot.maxPlayers());
+        out.writeInt(snapshot.roundTimeLimitSeconds());
+        out.writeInt(snapshot.gameTimeLimitSeconds());
+        out.writeByte(snapshot.state().ordinal());
+        out.writeShort(playerIDs.size());
+        int slot = 0;
+        for (PlayerSnapshot player : snapshot.players().values()) {
+            String rejoinToken = rejoinTokens.apply(player.id());
+            out.writeUTF(rejoinToken == null ? player.id() : RoomUtil.restoredPlayerId(snapshot.id(), slot));
+            out.writeUTF(player.name());
+            out.writeInt(player.score());
+            out.writeInt(player.currentRound());
+            out.writeUTF(rejoinToken == null ? "" : rejoinToken);
+            slot++;
+        }
+        out.writeShort(snapshot.completedPlayers().size());
+        for (PlayerSnapshot player : snapshot.completedPlayers()) {
+            int index = playerIDs.indexOf(player.id());
+            out.writeShort(index >= 0 ? index : DEPARTED);
+            if (index < 0) {
+                out.writeUTF(player.id());
+                out.writeUTF(player.name());
+                out.writeInt(player.score());
+                out.writeInt(player.currentRound());
+            }
+        }
+    }
+
+    private Game readGame(DataInputStream in, Map<String, RestoredPlayer> rejoinTokens) throws IOException {
+        String id = in.readUTF();
+        int maxRounds = in.readInt();
+        int maxPlayers = in.readInt();
+        int roundTimeLimitSeconds = in.readInt();
+        int gameTimeLimitSeconds = in.readInt();
+        GameState state = STATES[in.readByte()];
+        int playerCount = in.readUnsignedShort();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            Player player = Player.restore(in.readUTF(), in.readUTF(), in.readInt(), in.readInt());
+            String rejoinToken = in.readUTF();
+            if (!rejoinToken.isEmpty()) {
+                rejoinTokens.put(rejoinToken, new RestoredPlayer(id, player.getId()));
+            }
+            players.add(player);
+        }
+        int completedCount = in.readUnsignedShort();
+        List<Player> completedPlayers = new ArrayList<>(completedCount);
+        for (int i = 0; i < completedCount; i++) {
+            int index = in.readUnsignedShort();
+            completedPlayers.add(index == DEPARTED
+                    ? Player.restore(in.readUTF(), in.readUTF(), in.readInt(), in.readInt())
+                    : players.get(index));
+        }
+        return Game.restore(id, maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds,
+                state, players, completedPlayers);
+    }
+}
@@ -0,0 +1,160 @@
+package io.piseven.wordle.room.snapshot;
+
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.messages.outgoing.BroadcastMessage;
+import io.piseven.wordle.room.messages.outgoing.Broadcaster;
+import io.piseven.wordle.room.session.SessionRegistry;
+import io.piseven.wordle.room.util.RoomUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the server on shutdown and hands the live rooms over to the next instance.
+ * <p>
+ * On shutdown, which runs before the web server stops, new rooms and joins are rejected, the rooms are frozen and
+ * written to a binary snapshot and connected clients are told to reconnect. Frozen rooms reject further moves, so
+ * nothing is lost that was accepted after the snapshot. On startup, the snapshot is restored while
+ * the bean is initialized, i.e. before the web server starts and the {@code /game} endpoint accepts connections.
+ * Restored players that do not rejoin within the grace period are removed.
+ * <p>
+ * Every player is written with a random rejoin token, and each client receives its token with
+ * {@code SERVER_RESTARTING}. Restored players are held under placeholder IDs, and their tokens are only known to
+ * the {@link RoomManager}: player IDs are not secret, as they are part of every game broadcast, whereas a token is
+ * never sent to anyone but its client. A restored player can thus only be claimed by the client it belonged to,
+ * and never shares its ID with a new connection, whose session ID may be handed out again after a restart.
+ * <p>
+ * Snapshots are only written and restored when {@code wordle.snapshot.path} is set.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class RoomSnapshotLifecycle implements SmartLifecycle {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final RoomManager roomManager;
+    private final Broadcaster broadcaster;
+    private final SessionRegistry sessionRegistry;
+    private final Path snapshotPath;
+    private final Duration rejoinGracePeriod;
+    private volatile boolean running;
+    private int restoredRooms;
+
+    RoomSnapshotLifecycle(RoomManager roomManager, Broadcaster broadcaster, SessionRegistry sessionRegistry,
+                          @Value("${wordle.snapshot.path:}") String snapshotPath,
+                          @Value("${wordle.snapshot.rejoin-grace-period:2m}") Duration rejoinGracePeriod) {
+        this.roomManager = roomManager;
+        this.broadcaster = broadcaster;
+        this.sessionRegistry = sessionRegistry;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.rejoinGracePeriod = rejoinGracePeriod;
+    }
+
+    @PostConstruct
+    void restore() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshotPath), BUFFER_SIZE)) {
+            var snapshot = RoomSnapshotCodec.read(in);
+            roomManager.restore(snapshot.games(), snapshot.rejoinTokens());
+            restoredRooms = snapshot.games().size();
+            log.info("Restored {} rooms from {} in {} ms", restoredRooms, snapshotPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to restore room snapshot {}: {}", snapshotPath, e.getMessage(), e);
+        } finally {
+            deleteSnapshot();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (restoredRooms > 0) {
+            CompletableFuture.delayedExecutor(rejoinGracePeriod.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                int purged = roomManager.purgeUnclaimedPlayers();
+                log.info("Removed {} restored players that did not rejoin", purged);
+            });
+        }
+    }
+
+    @Override
+    public void stop() {
+        drain();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops accepting new rooms and joins, writes the snapshot and tells connected clients to reconnect.
+     * The snapshot is written before sessions are closed, as closing a session removes its player from the room.
+     */
+    void drain() {
+        roomManager.drain();
+        Map<String, String> rejoinTokens = new HashMap<>();
+        if (snapshotPath != null) {
+            writeSnapshot(rejoinTokens);
+        }
+        for (WebSocketSession session : sessionRegistry.fetchAllSessions()) {
+            broadcaster.sendToSession(session.getId(), BroadcastMessage.serverRestarting(rejoinTokens.get(session.getId())));
+        }
+        sessionRegistry.closeAll(CloseStatus.SERVICE_RESTARTED);
+    }
+
+    /**
+     * Writes the snapshot, collecting the rejoin token of every written player by its current ID.
+     */
+    private void writeSnapshot(Map<String, String> rejoinTokens) {
+        long start = System.nanoTime();
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            var games = roomManager.freezeGames();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE)) {
+                RoomSnapshotCodec.write(games,
+                        playerID -> rejoinTokens.computeIfAbsent(playerID, id -> RoomUtil.generateRejoinToken()), out);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote {} rooms to {} in {} ms", games.size(), snapshotPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            log.error("Failed to write room snapshot {}: {}", snapshotPath, e.getMessage(), e);
+        }
+    }
+
+    private void deleteSnapshot() {
+        try {
+            Files.deleteIfExists(snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to delete restored room snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+}
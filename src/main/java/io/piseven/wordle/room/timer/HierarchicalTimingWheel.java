@@ -0,0 +1,293 @@
+package io.piseven.wordle.room.timer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical timing wheel for large numbers of coarse-grained timeouts.
+ * <p>
+ * Level 0 has one bucket per tick; every higher level covers {@code slotsPerLevel} times the range of the level
+ * below. A timeout is placed in the lowest level whose range covers its deadline and cascades down a level each
+ * time the level below wraps around, until it expires in a level 0 bucket. Buckets are intrusive doubly-linked
+ * lists owned by a single worker thread.
+ * <p>
+ * Scheduling and cancelling are O(1) from any thread: a new timeout is appended to a lock-free queue and placed in
+ * its bucket on the next tick, and a cancelled one is flagged and unlinked from its bucket on the next tick.
+ * Expired tasks are handed to an executor, so the worker thread only ever moves timeouts around.
+ */
+@Slf4j
+public final class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HierarchicalTimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineTick;
+        private volatile int state = PENDING;
+
+        // Bucket links, only accessed by the worker thread
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(HierarchicalTimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the timeout, unless it already expired or was cancelled.
+         *
+         * @return true if this call cancelled the timeout
+         */
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                wheel.cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Empties the bucket and returns its former head; the returned chain is still linked through {@code next}.
+         */
+        private Timeout clear() {
+            Timeout first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    private final long tickNanos;
+    private final int bitsPerLevel;
+    private final long slotMask;
+    private final long maxTicks;
+    private final Bucket[][] levels;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean closed;
+    private long currentTick;
+
+    /**
+     * Creates a timing wheel and starts its worker thread.
+     *
+     * @param tick          the duration of one tick, i.e. the resolution of the timeouts
+     * @param slotsPerLevel the number of buckets per level, a power of two
+     * @param levelCount    the number of levels; the longest delay is {@code tick * slotsPerLevel ^ levelCount}
+     * @param executor      the executor running the expired tasks
+     * @param threadName    the name of the worker thread
+     */
+    public HierarchicalTimingWheel(Duration tick, int slotsPerLevel, int levelCount, Executor executor, String threadName) {
+        Assert.isTrue(!tick.isNegative() && !tick.isZero(), "Tick must be positive");
+        Assert.isTrue(slotsPerLevel > 1 && Integer.bitCount(slotsPerLevel) == 1, "Slots per level must be a power of two");
+        Assert.isTrue(levelCount > 0, "Level count must be positive");
+        this.tickNanos = tick.toNanos();
+        this.bitsPerLevel = Integer.numberOfTrailingZeros(slotsPerLevel);
+        Assert.isTrue(bitsPerLevel * levelCount < 63, "Wheel range is too large");
+        this.slotMask = slotsPerLevel - 1;
+        this.maxTicks = 1L << (bitsPerLevel * levelCount);
+        this.levels = new Bucket[levelCount][slotsPerLevel];
+        for (Bucket[] level : levels) {
+            for (int slot = 0; slot < slotsPerLevel; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+        this.executor = executor;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Returns the longest delay the wheel accepts.
+     *
+     * @return the range of the wheel
+     */
+    public Duration range() {
+        return Duration.ofNanos(tickNanos * (maxTicks - 2));
+    }
+
+    /**
+     * Schedules a task to run once the delay has passed, rounded up to the next tick boundary.
+     *
+     * @param task  the task to run on the executor
+     * @param delay the delay after which the task runs
+     * @return the handle to cancel the timeout with
+     * @throws IllegalArgumentException if the delay exceeds the range of the wheel
+     * @throws IllegalStateException    if the wheel is closed
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (closed) {
+            throw new IllegalStateException("Timing wheel is closed");
+        }
+        long delayNanos = Math.max(0, delay.toNanos());
+        Assert.isTrue(delayNanos / tickNanos < maxTicks - 1, "Delay exceeds the range of the timing wheel");
+        long deadlineNanos = System.nanoTime() - startNanos + delayNanos;
+        Timeout timeout = new Timeout(this, task, Math.max(1, (deadlineNanos + tickNanos - 1) / tickNanos));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread. Timeouts that did not expire yet are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            long sleepNanos = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                log.error("Timing wheel tick {} failed: {}", currentTick, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void advance() {
+        currentTick++;
+        for (Timeout timeout; (timeout = cancelled.poll()) != null; ) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+        for (Timeout timeout; (timeout = scheduled.poll()) != null; ) {
+            if (timeout.state == PENDING) {
+                place(timeout);
+            }
+        }
+        for (int level = levels.length - 1; level > 0; level--) {
+            int shift = bitsPerLevel * level;
+            if ((currentTick & ((1L << shift) - 1)) == 0) {
+                cascade(levels[level][(int) ((currentTick >>> shift) & slotMask)]);
+            }
+        }
+        expire(levels[0][(int) (currentTick & slotMask)]);
+    }
+
+    private void place(Timeout timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            levels[0][(int) (currentTick & slotMask)].add(timeout);
+            return;
+        }
+        int level = 0;
+        while (level < levels.length - 1 && delta >= 1L << (bitsPerLevel * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) ((timeout.deadlineTick >>> (bitsPerLevel * level)) & slotMask)].add(timeout);
+    }
+
+    private void cascade(Bucket bucket) {
+        Timeout timeout = bucket.clear();
+        while (timeout != null) {
+            Timeout next = detach(timeout);
+            if (timeout.state == PENDING) {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.clear();
+        while (timeout != null) {
+            Timeout next = detach(timeout);
+            if (timeout.deadlineTick > currentTick) {
+                place(timeout);
+            } else if (Timeout.STATE.compareAndSet(timeout, PENDING, EXPIRED)) {
+                try {
+                    executor.execute(timeout.task);
+                } catch (RejectedExecutionException e) {
+                    log.warn("Timeout task rejected: {}", e.getMessage());
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    private static Timeout detach(Timeout timeout) {
+        Timeout next = timeout.next;
+        timeout.bucket = null;
+        timeout.previous = null;
+        timeout.next = null;
+        return next;
+    }
+}
@@ -0,0 +1,157 @@
+package io.piseven.wordle.room.timer;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameSnapshot;
+import io.piseven.wordle.model.GameState;
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.error.MessageProcessingException;
+import io.piseven.wordle.room.messages.incoming.GameTimeoutMessage;
+import io.piseven.wordle.room.messages.incoming.Message;
+import io.piseven.wordle.room.messages.incoming.MessageProcessor;
+import io.piseven.wordle.room.messages.incoming.RoundTimeoutMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Enforces the round and game time limits of rooms.
+ * <p>
+ * All deadlines live on one {@link HierarchicalTimingWheel}. When a deadline passes, a {@link RoundTimeoutMessage}
+ * or {@link GameTimeoutMessage} is fed into the {@link MessageProcessor} from a small executor, so timeouts go
+ * through the same code paths as client messages. With {@code spring.threads.virtual.enabled} every timeout runs
+ * on its own virtual thread instead, like client messages do. The game deadline of a room is cancelled when the
+ * room is removed.
+ */
+@Slf4j
+@Component
+public class RoundDeadlineScheduler implements DisposableBean {
+
+    private static final int SLOTS_PER_LEVEL = 512;
+    private static final int LEVEL_COUNT = 3;
+
+    private final ObjectProvider<MessageProcessor> messageProcessor;
+    private final ExecutorService timeoutExecutor;
+    private final HierarchicalTimingWheel wheel;
+    private final Map<String, HierarchicalTimingWheel.Timeout> roundTimeouts = new ConcurrentHashMap<>();
+    private final Map<String, HierarchicalTimingWheel.Timeout> gameTimeouts = new ConcurrentHashMap<>();
+
+    RoundDeadlineScheduler(ObjectProvider<MessageProcessor> messageProcessor, RoomManager roomManager,
+                           @Value("${wordle.timer.tick:100ms}") Duration tick,
+                           @Value("${wordle.timer.threads:2}") int threads,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.messageProcessor = messageProcessor;
+        if (virtualThreads) {
+            this.timeoutExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("round-timeout-", 0).factory());
+        } else {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("round-timeout-");
+            threadFactory.setDaemon(true);
+            this.timeoutExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+        }
+        this.wheel = new HierarchicalTimingWheel(tick, SLOTS_PER_LEVEL, LEVEL_COUNT, timeoutExecutor, "round-deadlines");
+        Assert.isTrue(wheel.range().toSeconds() >= Game.MAX_TIME_LIMIT_SECONDS,
+                "wordle.timer.tick is too small to cover the longest time limit of a game");
+        roomManager.onRoomRemoved(this::cancelGameDeadline);
+    }
+
+    /**
+     * Schedules the game deadline and the first round deadline of every player of a game that just started.
+     * Nothing is scheduled unless the game is in progress, nor for players that completed all rounds.
+     * Deadlines that are already scheduled are kept, so starting a game twice does not extend them.
+     *
+     * @param game the snapshot of the started game
+     */
+    public void scheduleGame(GameSnapshot game) {
+        if (game.state() != GameState.IN_PROGRESS) {
+            return;
+        }
+        if (game.gameTimeLimitSeconds() > 0) {
+            gameTimeouts.computeIfAbsent(game.id(), roomId -> schedule(roomId, game.gameTimeLimitSeconds(),
+                    new GameTimeoutMessage(roomId), gameTimeouts));
+        }
+        if (game.roundTimeLimitSeconds() > 0) {
+            game.players().values().stream()
+                    .filter(player -> player.currentRound() < game.maxRounds())
+                    .forEach(player -> roundTimeouts.computeIfAbsent(player.id(),
+                            playerId -> schedule(playerId, game.roundTimeLimitSeconds(),
+                                    new RoundTimeoutMessage(game.id(), playerId, player.currentRound()), roundTimeouts)));
+        }
+    }
+
+    /**
+     * Replaces a player's round deadline with one for the round the player is in now, if any rounds are left.
+     *
+     * @param game     the snapshot of the game after the player's round changed
+     * @param playerId the ID of the player
+     */
+    public void scheduleNextRound(GameSnapshot game, String playerId) {
+        cancelPlayer(playerId);
+        var player = game.players().get(playerId);
+        if (player == null || game.roundTimeLimitSeconds() == 0 || game.state() != GameState.IN_PROGRESS
+                || player.currentRound() >= game.maxRounds()) {
+            return;
+        }
+        var message = new RoundTimeoutMessage(game.id(), playerId, player.currentRound());
+        roundTimeouts.put(playerId, schedule(playerId, game.roundTimeLimitSeconds(), message, roundTimeouts));
+    }
+
+    /**
+     * Cancels the round deadline of a player.
+     *
+     * @param playerId the ID of the player
+     */
+    public void cancelPlayer(String playerId) {
+        var timeout = roundTimeouts.remove(playerId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Cancels the game deadline and all round deadlines of a game.
+     *
+     * @param game the snapshot of the game
+     */
+    public void cancelGame(GameSnapshot game) {
+        cancelGameDeadline(game.id());
+        game.players().keySet().forEach(this::cancelPlayer);
+    }
+
+    @Override
+    public void destroy() {
+        wheel.close();
+        timeoutExecutor.shutdownNow();
+    }
+
+    private void cancelGameDeadline(String roomId) {
+        var timeout = gameTimeouts.remove(roomId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private HierarchicalTimingWheel.Timeout schedule(String key, int seconds, Message message,
+                                                     Map<String, HierarchicalTimingWheel.Timeout> timeouts) {
+        return wheel.schedule(() -> {
+            timeouts.computeIfPresent(key, (k, timeout) -> timeout.isExpired() ? null : timeout);
+            process(message);
+        }, Duration.ofSeconds(seconds));
+    }
+
+    private void process(Message message) {
+        try {
+            messageProcessor.getObject().processMessage(message);
+        } catch (MessageProcessingException e) {
+            log.debug("Failed to process {}: {}", message, e.getMessage());
+        }
+    }
+}
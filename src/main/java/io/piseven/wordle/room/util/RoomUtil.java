@@ -3,6 +3,7 @@ package io.piseven.wordle.room.util;
 import lombok.experimental.UtilityClass;
 
 import java.security.SecureRandom;
+import java.util.Base64;
 
 
 @UtilityClass
@@ -11,6 +12,9 @@ public class RoomUtil {
     private static final SecureRandom RANDOM = new SecureRandom();
     private static final int ROOM_ID_LENGTH = 6;
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final String REJOIN_TOKEN_PREFIX = "rejoin:";
+    private static final String RESTORED_PLAYER_PREFIX = "restored:";
+    private static final int REJOIN_TOKEN_BYTES = 16;
 
     /**
      * Generates a random room ID consisting of uppercase letters and digits.
@@ -26,4 +30,28 @@ public class RoomUtil {
         return roomId.toString();
     }
 
+    /**
+     * Generates an unguessable token a player presents to rejoin its room after a restart. The token is only ever
+     * sent to the player it belongs to, never as part of a game.
+     *
+     * @return a random rejoin token
+     */
+    public String generateRejoinToken() {
+        byte[] bytes = new byte[REJOIN_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return REJOIN_TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Returns the ID a restored player is held under until it rejoins. The ID is unique across rooms and never
+     * collides with a WebSocket session ID, but it is not secret: it is broadcast with the game like any player ID.
+     *
+     * @param roomId the ID of the room the player is restored into
+     * @param index  the position of the player in the room
+     * @return the placeholder player ID
+     */
+    public String restoredPlayerId(String roomId, int index) {
+        return RESTORED_PLAYER_PREFIX + roomId + ":" + index;
+    }
+
 }
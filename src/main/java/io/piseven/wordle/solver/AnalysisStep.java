@@ -0,0 +1,15 @@
+package io.piseven.wordle.solver;
+
+/**
+ * One guess of a finished game compared with the best guess at that point.
+ *
+ * @param guess            the word that was guessed
+ * @param feedback         the feedback the guess received
+ * @param bits             the information the guess actually revealed, in bits
+ * @param bestGuess        the guess with the highest expected information at that point
+ * @param bestExpectedBits the expected information of the best guess, in bits
+ * @param remainingBefore  the number of answers still possible before the guess
+ */
+public record AnalysisStep(String guess, String feedback, double bits, String bestGuess, double bestExpectedBits,
+                           int remainingBefore) {
+}
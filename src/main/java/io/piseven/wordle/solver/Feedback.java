@@ -0,0 +1,96 @@
+package io.piseven.wordle.solver;
+
+import io.piseven.wordle.solver.error.InvalidGuessException;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Encodes the feedback of a guess as a pattern number: one base-3 digit per letter, 0 for absent, 1 for present
+ * elsewhere and 2 for the right position, the first letter being the least significant digit. The 3^5 = 243
+ * patterns of a five-letter word fit in one unsigned byte.
+ */
+@UtilityClass
+public class Feedback {
+
+    public static final int WORD_LENGTH = 5;
+    public static final int PATTERN_COUNT = 243;
+    public static final int ALL_CORRECT = PATTERN_COUNT - 1;
+
+    private static final int ABSENT = 0;
+    private static final int PRESENT = 1;
+    private static final int CORRECT = 2;
+
+    /**
+     * Computes the feedback a guess receives for an answer. A letter that occurs more often in the guess than in
+     * the answer is marked present only as many times as it is left over after the correct positions.
+     *
+     * @param guess  the guessed word, lower case
+     * @param answer the answer, lower case
+     * @return the feedback pattern
+     */
+    public int pattern(String guess, String answer) {
+        int[] digits = new int[WORD_LENGTH];
+        int[] unmatched = new int[26];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if (guess.charAt(i) == answer.charAt(i)) {
+                digits[i] = CORRECT;
+            } else {
+                unmatched[answer.charAt(i) - 'a']++;
+            }
+        }
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = guess.charAt(i) - 'a';
+            if (digits[i] != CORRECT && unmatched[letter] > 0) {
+                digits[i] = PRESENT;
+                unmatched[letter]--;
+            }
+        }
+        return encode(digits);
+    }
+
+    /**
+     * Parses feedback as reported by a client, one character per letter: {@code G} or {@code 2} for correct,
+     * {@code Y} or {@code 1} for present, {@code B}, {@code X}, {@code -} or {@code 0} for absent.
+     *
+     * @param feedback the feedback string, case-insensitive
+     * @return the feedback pattern
+     * @throws InvalidGuessException if the feedback is malformed
+     */
+    public int parse(String feedback) {
+        if (feedback == null || feedback.length() != WORD_LENGTH) {
+            throw new InvalidGuessException("Feedback must have " + WORD_LENGTH + " characters: " + feedback);
+        }
+        int[] digits = new int[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            digits[i] = switch (Character.toUpperCase(feedback.charAt(i))) {
+                case 'G', '2' -> CORRECT;
+                case 'Y', '1' -> PRESENT;
+                case 'B', 'X', '-', '0' -> ABSENT;
+                default -> throw new InvalidGuessException("Invalid feedback: " + feedback);
+            };
+        }
+        return encode(digits);
+    }
+
+    /**
+     * Formats a pattern the way {@link #parse(String)} reads it, e.g. {@code GYBBG}.
+     *
+     * @param pattern the feedback pattern
+     * @return the feedback string
+     */
+    public String format(int pattern) {
+        StringBuilder feedback = new StringBuilder(WORD_LENGTH);
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            feedback.append("BYG".charAt(pattern % 3));
+            pattern /= 3;
+        }
+        return feedback.toString();
+    }
+
+    private int encode(int[] digits) {
+        int pattern = 0;
+        for (int i = WORD_LENGTH - 1; i >= 0; i--) {
+            pattern = pattern * 3 + digits[i];
+        }
+        return pattern;
+    }
+}
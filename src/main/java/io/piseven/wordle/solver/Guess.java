@@ -0,0 +1,10 @@
+package io.piseven.wordle.solver;
+
+/**
+ * A guess made so far together with the feedback it received.
+ *
+ * @param word     the guessed word
+ * @param feedback the feedback, see {@link Feedback#parse(String)}
+ */
+public record Guess(String word, String feedback) {
+}
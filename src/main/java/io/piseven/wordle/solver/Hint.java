@@ -0,0 +1,11 @@
+package io.piseven.wordle.solver;
+
+/**
+ * The guess that is expected to reveal the most information about the answer.
+ *
+ * @param word             the suggested guess
+ * @param expectedBits     the expected information of the guess, in bits
+ * @param remainingAnswers the number of answers still consistent with the guesses so far
+ */
+public record Hint(String word, double expectedBits, int remainingAnswers) {
+}
@@ -0,0 +1,343 @@
+package io.piseven.wordle.solver;
+
+import io.piseven.wordle.solver.error.InvalidGuessException;
+import io.piseven.wordle.solver.error.SolverBusyException;
+import io.piseven.wordle.solver.error.SolverUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Suggests guesses and analyses finished games by expected information.
+ * <p>
+ * Every candidate guess is scored against the answers still consistent with the guesses so far: the more evenly
+ * a guess splits them over the feedback patterns, the more it is expected to reveal. This takes time proportional
+ * to the number of allowed guesses times the number of answers, so the feedback patterns are precomputed into a
+ * {@link PatternTable} at startup and all work runs on a dedicated {@link ForkJoinPool}, never on the caller's
+ * thread. Hints are cached by the set of constraints, since the remaining answers do not depend on the order of
+ * the guesses. At most {@code wordle.solver.max-pending} requests are solved or queued at a time; further requests
+ * are rejected with {@link SolverBusyException} instead of piling up on the pool.
+ * <p>
+ * The possible answers are read from {@code wordle.solver.answers}, one word per line; without them, hints are
+ * unavailable. Words that are allowed as guesses but are never the answer can be added with
+ * {@code wordle.solver.guesses}; answers are always allowed as guesses.
+ */
+@Slf4j
+@Service
+public class WordleSolver implements DisposableBean {
+
+    private static final int GUESSES_PER_TASK = 64;
+    private static final double LN_2 = Math.log(2);
+
+    /**
+     * The answers, a prefix of {@link #guesses}: the answer with index {@code i} is also the guess with index {@code i}.
+     */
+    private final List<String> answers;
+    private final List<String> guesses;
+    private final Map<String, Integer> guessIndex;
+    private final ForkJoinPool pool;
+    private final CompletableFuture<PatternTable> table;
+    private final Map<String, Hint> cache;
+    private final Semaphore pending;
+
+    @Autowired
+    public WordleSolver(ResourceLoader resourceLoader,
+                        @Value("${wordle.solver.answers:}") String answersLocation,
+                        @Value("${wordle.solver.guesses:}") String guessesLocation,
+                        @Value("${wordle.solver.parallelism:0}") int parallelism,
+                        @Value("${wordle.solver.cache-size:10000}") int cacheSize,
+                        @Value("${wordle.solver.max-pending:64}") int maxPending) throws IOException {
+        this(readWords(resourceLoader, answersLocation), readWords(resourceLoader, guessesLocation),
+                parallelism, cacheSize, maxPending);
+    }
+
+    WordleSolver(List<String> answers, List<String> guesses, int parallelism, int cacheSize, int maxPending) {
+        Assert.isTrue(maxPending > 0, "The solver must accept at least one pending request");
+        this.answers = normalize(answers);
+        this.guesses = this.answers.isEmpty() ? List.of() : normalize(Stream.concat(answers.stream(), guesses.stream()).toList());
+        this.guessIndex = new HashMap<>(this.guesses.size() * 2);
+        for (int i = 0; i < this.guesses.size(); i++) {
+            guessIndex.put(this.guesses.get(i), i);
+        }
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                WordleSolver::newWorkerThread, null, false);
+        this.table = this.answers.isEmpty() ? null
+                : CompletableFuture.supplyAsync(() -> PatternTable.compute(this.guesses, this.answers), pool);
+        this.pending = new Semaphore(maxPending);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Hint> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Returns whether a list of answers is configured.
+     */
+    public boolean isAvailable() {
+        return table != null;
+    }
+
+    /**
+     * Suggests the next guess. The guesses are validated on the calling thread, the solving runs on the solver's pool.
+     *
+     * @param guesses the guesses made so far with their feedback
+     * @return the hint, completed exceptionally with {@link InvalidGuessException} if no answer matches the feedback
+     * @throws SolverUnavailableException if no list of answers is configured
+     * @throws SolverBusyException        if too many requests are pending
+     * @throws InvalidGuessException      if a guess is not an allowed guess or its feedback is malformed
+     */
+    public CompletableFuture<Hint> hint(List<Guess> guesses) {
+        requireAvailable();
+        List<Constraint> constraints = new ArrayList<>(guesses.size());
+        for (Guess guess : guesses) {
+            constraints.add(new Constraint(indexOf(guess.word()), Feedback.parse(guess.feedback())));
+        }
+        String key = key(constraints);
+        Hint cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return submit(patterns -> solve(patterns, key, constraints));
+    }
+
+    /**
+     * Compares every guess of a finished game with the best guess at that point.
+     *
+     * @param answer  the answer of the game
+     * @param guesses the guesses in the order they were made
+     * @return one step per guess, up to the guess that found the answer
+     * @throws SolverUnavailableException if no list of answers is configured
+     * @throws SolverBusyException        if too many requests are pending
+     * @throws InvalidGuessException      if the answer is not a possible answer or a guess is not an allowed guess
+     */
+    public CompletableFuture<List<AnalysisStep>> analyze(String answer, List<String> guesses) {
+        requireAvailable();
+        int answerIndex = indexOf(answer);
+        if (answerIndex >= answers.size()) {
+            throw new InvalidGuessException("Not a possible answer: " + answer);
+        }
+        int[] guessIndexes = guesses.stream().mapToInt(this::indexOf).toArray();
+        return submit(patterns -> {
+            List<AnalysisStep> steps = new ArrayList<>(guessIndexes.length);
+            List<Constraint> constraints = new ArrayList<>(guessIndexes.length);
+            for (int guess : guessIndexes) {
+                Hint best = solve(patterns, key(constraints), constraints);
+                int pattern = patterns.pattern(guess, answerIndex);
+                constraints.add(new Constraint(guess, pattern));
+                int remainingAfter = remaining(patterns, constraints).length;
+                steps.add(new AnalysisStep(this.guesses.get(guess), Feedback.format(pattern),
+                        log2((double) best.remainingAnswers() / remainingAfter), best.word(), best.expectedBits(),
+                        best.remainingAnswers()));
+                if (pattern == Feedback.ALL_CORRECT) {
+                    break;
+                }
+            }
+            return steps;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs work on the solver's pool once the pattern table is ready, counting it as pending until it completes.
+     *
+     * @throws SolverBusyException if too many requests are pending
+     */
+    private <T> CompletableFuture<T> submit(Function<PatternTable, T> work) {
+        if (!pending.tryAcquire()) {
+            throw new SolverBusyException();
+        }
+        try {
+            return table.thenApplyAsync(work, pool).whenComplete((result, failure) -> pending.release());
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    private Hint solve(PatternTable patterns, String key, List<Constraint> constraints) {
+        Hint hint = cache.get(key);
+        if (hint != null) {
+            return hint;
+        }
+        int[] remaining = remaining(patterns, constraints);
+        if (remaining.length == 0) {
+            throw new InvalidGuessException("No answer matches the feedback so far");
+        }
+        Candidate best = new BestGuessTask(patterns, remaining, 0, guesses.size()).invoke();
+        hint = new Hint(guesses.get(best.word()), best.bits(), remaining.length);
+        cache.put(key, hint);
+        return hint;
+    }
+
+    private int[] remaining(PatternTable patterns, List<Constraint> constraints) {
+        int[] remaining = new int[answers.size()];
+        int count = 0;
+        answers:
+        for (int answer = 0; answer < remaining.length; answer++) {
+            for (Constraint constraint : constraints) {
+                if (patterns.pattern(constraint.guess(), answer) != constraint.pattern()) {
+                    continue answers;
+                }
+            }
+            remaining[count++] = answer;
+        }
+        return Arrays.copyOf(remaining, count);
+    }
+
+    private int indexOf(String word) {
+        Integer index = word == null ? null : guessIndex.get(word.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new InvalidGuessException("Unknown word: " + word);
+        }
+        return index;
+    }
+
+    private void requireAvailable() {
+        if (!isAvailable()) {
+            throw new SolverUnavailableException();
+        }
+    }
+
+    private static String key(List<Constraint> constraints) {
+        var sorted = new TreeSet<String>();
+        constraints.forEach(constraint -> sorted.add(constraint.guess() + ":" + constraint.pattern()));
+        return String.join(",", sorted);
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / LN_2;
+    }
+
+    private static List<String> normalize(List<String> words) {
+        var normalized = new LinkedHashSet<String>();
+        for (String word : words) {
+            String candidate = word.trim().toLowerCase(Locale.ROOT);
+            if (candidate.matches("[a-z]{" + Feedback.WORD_LENGTH + "}")) {
+                normalized.add(candidate);
+            }
+        }
+        return List.copyOf(normalized);
+    }
+
+    private static List<String> readWords(ResourceLoader resourceLoader, String location) throws IOException {
+        if (location.isBlank()) {
+            return List.of();
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try (var reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> words = reader.lines().toList();
+            log.info("Loaded {} solver words from {}", words.size(), resource.getDescription());
+            return words;
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("wordle-solver-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    private record Constraint(int guess, int pattern) {
+    }
+
+    private record Candidate(int word, double bits, boolean possibleAnswer) {
+
+        /**
+         * Prefers more information, then guesses that may be the answer themselves, then the earlier word,
+         * so the result does not depend on how the work was split.
+         */
+        Candidate betterOf(Candidate other) {
+            if (other == null) {
+                return this;
+            }
+            int byBits = Long.compare(Math.round(bits * 1e9), Math.round(other.bits * 1e9));
+            if (byBits != 0) {
+                return byBits > 0 ? this : other;
+            }
+            if (possibleAnswer != other.possibleAnswer) {
+                return possibleAnswer ? this : other;
+            }
+            return word < other.word ? this : other;
+        }
+    }
+
+    /**
+     * Finds the guess with the highest expected information among a range of allowed guesses.
+     */
+    private static final class BestGuessTask extends RecursiveTask<Candidate> {
+
+        private final PatternTable patterns;
+        private final int[] remaining;
+        private final int from;
+        private final int to;
+
+        private BestGuessTask(PatternTable patterns, int[] remaining, int from, int to) {
+            this.patterns = patterns;
+            this.remaining = remaining;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (to - from > GUESSES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                var left = new BestGuessTask(patterns, remaining, from, middle);
+                left.fork();
+                Candidate right = new BestGuessTask(patterns, remaining, middle, to).compute();
+                return left.join().betterOf(right);
+            }
+            int[] counts = new int[Feedback.PATTERN_COUNT];
+            Candidate best = null;
+            for (int guess = from; guess < to; guess++) {
+                byte[] row = patterns.row(guess);
+                Arrays.fill(counts, 0);
+                for (int answer : remaining) {
+                    counts[row[answer] & 0xFF]++;
+                }
+                double weighted = 0;
+                for (int count : counts) {
+                    if (count > 1) {
+                        weighted += count * log2(count);
+                    }
+                }
+                double bits = log2(remaining.length) - weighted / remaining.length;
+                best = new Candidate(guess, bits, counts[Feedback.ALL_CORRECT] > 0).betterOf(best);
+            }
+            return best;
+        }
+    }
+}
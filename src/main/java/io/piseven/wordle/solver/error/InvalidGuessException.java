@@ -0,0 +1,7 @@
+package io.piseven.wordle.solver.error;
+
+public class InvalidGuessException extends RuntimeException {
+    public InvalidGuessException(String message) {
+        super(message);
+    }
+}
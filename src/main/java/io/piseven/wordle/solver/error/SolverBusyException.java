@@ -0,0 +1,7 @@
+package io.piseven.wordle.solver.error;
+
+public class SolverBusyException extends RuntimeException {
+    public SolverBusyException() {
+        super("The solver is busy, try again later");
+    }
+}
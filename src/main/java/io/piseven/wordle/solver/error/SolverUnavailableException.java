@@ -0,0 +1,7 @@
+package io.piseven.wordle.solver.error;
+
+public class SolverUnavailableException extends RuntimeException {
+    public SolverUnavailableException() {
+        super("Hints are not available: no word list is configured");
+    }
+}
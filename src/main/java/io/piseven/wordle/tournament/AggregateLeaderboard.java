@@ -0,0 +1,89 @@
+package io.piseven.wordle.tournament;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Leaderboard aggregating the scores of all rooms of a tournament.
+ * <p>
+ * Entries are kept in one {@link ConcurrentHashMap} by player ID, and each entry accumulates its score in
+ * {@link LongAdder}s, so score updates from many rooms proceed concurrently without a shared lock: only a
+ * player's first round writes to the map. Reading the top K walks the entries with a bounded heap, never touching
+ * the rooms themselves.
+ */
+class AggregateLeaderboard {
+
+    private static final Comparator<Standing> BY_RANK = Comparator.comparingLong(Standing::score)
+            .thenComparing(Standing::rounds, Comparator.reverseOrder())
+            .thenComparing(Standing::playerID, Comparator.reverseOrder());
+
+    private static final class Entry {
+        private final String playerID;
+        private final String name;
+        private final String roomID;
+        private final LongAdder score = new LongAdder();
+        private final LongAdder rounds = new LongAdder();
+
+        private Entry(String playerID, String name, String roomID) {
+            this.playerID = playerID;
+            this.name = name;
+            this.roomID = roomID;
+        }
+
+        private Standing toStanding() {
+            return new Standing(playerID, name, roomID, score.sum(), rounds.sum());
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder updates = new LongAdder();
+
+    /**
+     * Records a played round of a player.
+     *
+     * @param playerID the ID of the player
+     * @param name     the display name of the player
+     * @param roomID   the room the player plays in
+     * @param score    the score gained in the round
+     */
+    void record(String playerID, String name, String roomID, int score) {
+        Entry entry = entries.computeIfAbsent(playerID, id -> new Entry(id, name, roomID));
+        entry.score.add(score);
+        entry.rounds.increment();
+        updates.increment();
+    }
+
+    /**
+     * Returns the number of recorded rounds, which only grows. Used to detect whether the standings changed.
+     */
+    long updates() {
+        return updates.sum();
+    }
+
+    /**
+     * Returns the K best standings, by score, then by fewer rounds played.
+     *
+     * @param limit the maximum number of standings to return
+     * @return the best standings, best first
+     */
+    List<Standing> top(int limit) {
+        PriorityQueue<Standing> best = new PriorityQueue<>(limit + 1, BY_RANK);
+        for (Entry entry : entries.values()) {
+            Standing standing = entry.toStanding();
+            if (best.size() < limit) {
+                best.add(standing);
+            } else if (BY_RANK.compare(standing, best.peek()) > 0) {
+                best.poll();
+                best.add(standing);
+            }
+        }
+        List<Standing> ranked = new ArrayList<>(best);
+        ranked.sort(BY_RANK.reversed());
+        return ranked;
+    }
+}
@@ -0,0 +1,13 @@
+package io.piseven.wordle.tournament;
+
+/**
+ * A player's position in a tournament's aggregate standings.
+ *
+ * @param playerID the ID of the player
+ * @param name     the display name of the player
+ * @param roomID   the room the player plays in
+ * @param score    the score accumulated so far
+ * @param rounds   the number of rounds played so far
+ */
+public record Standing(String playerID, String name, String roomID, long score, long rounds) {
+}
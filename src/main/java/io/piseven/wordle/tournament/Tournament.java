@@ -0,0 +1,69 @@
+package io.piseven.wordle.tournament;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A group of rooms playing at the same time, ranked together on an aggregate leaderboard.
+ */
+@Getter
+public class Tournament {
+    private final String id;
+    private final String name;
+    @Getter(AccessLevel.NONE)
+    private final Set<String> roomIds = ConcurrentHashMap.newKeySet();
+    @Getter(AccessLevel.PACKAGE)
+    private final AggregateLeaderboard leaderboard = new AggregateLeaderboard();
+    @Getter(AccessLevel.NONE)
+    private volatile long broadcastedUpdates;
+
+    private Tournament(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Factory method to create a new Tournament instance.
+     *
+     * @param id   the unique identifier of the tournament, must not be empty
+     * @param name the display name of the tournament, must not be empty
+     * @return a new Tournament instance without rooms
+     */
+    public static Tournament create(String id, String name) {
+        Assert.hasText(id, "Tournament ID must not be empty");
+        Assert.hasText(name, "Tournament name must not be empty");
+        return new Tournament(id, name);
+    }
+
+    void addRoom(String roomId) {
+        roomIds.add(roomId);
+    }
+
+    void removeRoom(String roomId) {
+        roomIds.remove(roomId);
+    }
+
+    public Set<String> getRoomIds() {
+        return Collections.unmodifiableSet(roomIds);
+    }
+
+    /**
+     * Checks whether the standings changed since the last call, and marks them as seen.
+     * Only called by the single standings broadcast task.
+     *
+     * @return true if rounds were recorded since the previous call
+     */
+    boolean markStandingsBroadcasted() {
+        long updates = leaderboard.updates();
+        if (updates == broadcastedUpdates) {
+            return false;
+        }
+        broadcastedUpdates = updates;
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package io.piseven.wordle.tournament;
+
+import io.piseven.wordle.tournament.error.TournamentNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/tournament")
+class TournamentController {
+
+    private static final int MAX_STANDINGS = 100;
+
+    private final TournamentManager tournamentManager;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createTournament(@RequestParam String name) {
+        var tournamentID = tournamentManager.createTournament(name);
+        return ResponseEntity.ok(Map.of("tournamentID", tournamentID));
+    }
+
+    @PostMapping("/{tournamentID}/room")
+    public ResponseEntity<Map<String, Object>> createRoom(@PathVariable String tournamentID,
+                                                          @RequestParam int maxRounds, @RequestParam int maxPlayers,
+                                                          @RequestParam(defaultValue = "0") int roundTimeLimitSeconds,
+                                                          @RequestParam(defaultValue = "0") int gameTimeLimitSeconds) {
+        var roomID = tournamentManager.createRoom(tournamentID, maxRounds, maxPlayers,
+                roundTimeLimitSeconds, gameTimeLimitSeconds);
+        return ResponseEntity.ok(Map.of("roomID", roomID));
+    }
+
+    @GetMapping("/{tournamentID}/standings")
+    public ResponseEntity<List<Standing>> getStandings(@PathVariable String tournamentID,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        var standings = tournamentManager.getStandings(tournamentID, Math.min(Math.max(limit, 1), MAX_STANDINGS));
+        return ResponseEntity.ok(standings);
+    }
+
+    @ExceptionHandler(TournamentNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(TournamentNotFoundException exception) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException exception) {
+        return ResponseEntity.badRequest().body(Map.of("error", exception.getMessage()));
+    }
+}
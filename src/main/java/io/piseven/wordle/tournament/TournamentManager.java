@@ -0,0 +1,187 @@
+package io.piseven.wordle.tournament;
+
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.messages.outgoing.BroadcastMessage;
+import io.piseven.wordle.room.messages.outgoing.Broadcaster;
+import io.piseven.wordle.room.util.RoomUtil;
+import io.piseven.wordle.tournament.error.TournamentNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class TournamentManager implements DisposableBean {
+
+    private static final int BROADCAST_STANDINGS_SIZE = 10;
+
+    private final RoomManager roomManager;
+    private final Broadcaster broadcaster;
+    private final Map<String, Tournament> tournaments = new ConcurrentHashMap<>();
+    private final Map<String, Tournament> tournamentOfRoom = new ConcurrentHashMap<>();
+    private final ExecutorService standingsExecutor = newStandingsExecutor();
+    private final AtomicBoolean broadcastingStandings = new AtomicBoolean();
+
+    public TournamentManager(RoomManager roomManager, Broadcaster broadcaster) {
+        this.roomManager = roomManager;
+        this.broadcaster = broadcaster;
+        roomManager.onRoomRemoved(this::removeRoom);
+    }
+
+    /**
+     * Creates a new tournament with a unique ID.
+     *
+     * @param name the display name of the tournament
+     * @return the newly generated tournament ID
+     */
+    public String createTournament(String name) {
+        while (true) {
+            var tournament = Tournament.create(RoomUtil.generateRoomId(), name);
+            if (tournaments.putIfAbsent(tournament.getId(), tournament) == null) {
+                return tournament.getId();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the tournament with the given ID.
+     *
+     * @param tournamentId the ID of the tournament
+     * @return the Tournament instance
+     * @throws TournamentNotFoundException if no tournament exists with the given ID
+     */
+    public Tournament getTournament(String tournamentId) {
+        var tournament = tournaments.get(tournamentId);
+        if (tournament == null) {
+            throw new TournamentNotFoundException(tournamentId);
+        }
+        return tournament;
+    }
+
+    /**
+     * Creates a new room that is part of the tournament.
+     *
+     * @param tournamentId the ID of the tournament
+     * @param maxRounds    the maximum number of rounds for the game
+     * @param maxPlayers   the maximum number of players allowed
+     * @return the newly generated room ID
+     * @throws TournamentNotFoundException if no tournament exists with the given ID
+     */
+    public String createRoom(String tournamentId, int maxRounds, int maxPlayers) {
+        return createRoom(tournamentId, maxRounds, maxPlayers, 0, 0);
+    }
+
+    /**
+     * Creates a new room that is part of the tournament, with server-enforced time limits.
+     *
+     * @param tournamentId          the ID of the tournament
+     * @param maxRounds             the maximum number of rounds for the game
+     * @param maxPlayers            the maximum number of players allowed
+     * @param roundTimeLimitSeconds the time a player has for each round, or 0 for no limit
+     * @param gameTimeLimitSeconds  the time the whole game may take once started, or 0 for no limit
+     * @return the newly generated room ID
+     * @throws TournamentNotFoundException if no tournament exists with the given ID
+     */
+    public String createRoom(String tournamentId, int maxRounds, int maxPlayers,
+                             int roundTimeLimitSeconds, int gameTimeLimitSeconds) {
+        var tournament = getTournament(tournamentId);
+        var roomId = roomManager.createGame(maxRounds, maxPlayers, roundTimeLimitSeconds, gameTimeLimitSeconds);
+        tournament.addRoom(roomId);
+        tournamentOfRoom.put(roomId, tournament);
+        return roomId;
+    }
+
+    /**
+     * Detaches a removed room from its tournament, so that a new room reusing the ID does not feed its scores
+     * into the old tournament. Standings already recorded from the room are kept.
+     *
+     * @param roomId the ID of the removed room
+     */
+    private void removeRoom(String roomId) {
+        var tournament = tournamentOfRoom.remove(roomId);
+        if (tournament != null) {
+            tournament.removeRoom(roomId);
+        }
+    }
+
+    /**
+     * Feeds a played round into the aggregate leaderboard of the room's tournament, if the room belongs to one.
+     *
+     * @param roomId     the ID of the room the round was played in
+     * @param playerId   the ID of the player
+     * @param playerName the display name of the player
+     * @param score      the score gained in the round
+     */
+    public void recordScore(String roomId, String playerId, String playerName, int score) {
+        var tournament = tournamentOfRoom.get(roomId);
+        if (tournament != null) {
+            tournament.getLeaderboard().record(playerId, playerName, roomId, score);
+        }
+    }
+
+    /**
+     * Returns the best standings of a tournament across all of its rooms.
+     *
+     * @param tournamentId the ID of the tournament
+     * @param limit        the maximum number of standings to return
+     * @return the best standings, best first
+     * @throws TournamentNotFoundException if no tournament exists with the given ID
+     */
+    public List<Standing> getStandings(String tournamentId, int limit) {
+        return getTournament(tournamentId).getLeaderboard().top(limit);
+    }
+
+    /**
+     * Periodically sends the top standings to all rooms of every tournament whose standings changed.
+     * The blocking fan-out runs on a dedicated thread, so it does not hold up the shared scheduler; a broadcast
+     * that is still running when the next one is due makes the next one skip.
+     */
+    @Scheduled(fixedRateString = "${wordle.tournament.standings-interval:5s}")
+    void broadcastStandings() {
+        if (!broadcastingStandings.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            standingsExecutor.execute(this::sendStandings);
+        } catch (RejectedExecutionException e) {
+            broadcastingStandings.set(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        standingsExecutor.shutdownNow();
+    }
+
+    private void sendStandings() {
+        try {
+            for (Tournament tournament : tournaments.values()) {
+                if (tournament.markStandingsBroadcasted()) {
+                    var standings = tournament.getLeaderboard().top(BROADCAST_STANDINGS_SIZE);
+                    var message = BroadcastMessage.standingsUpdated(tournament.getId(), standings);
+                    broadcaster.broadcastToRooms(tournament.getRoomIds(), message);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to broadcast tournament standings: {}", e.getMessage(), e);
+        } finally {
+            broadcastingStandings.set(false);
+        }
+    }
+
+    private static ExecutorService newStandingsExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("tournament-standings-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadExecutor(threadFactory);
+    }
+}
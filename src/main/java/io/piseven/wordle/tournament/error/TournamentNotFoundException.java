@@ -0,0 +1,7 @@
+package io.piseven.wordle.tournament.error;
+
+public class TournamentNotFoundException extends RuntimeException {
+    public TournamentNotFoundException(String tournamentId) {
+        super(String.format("Tournament: %s not found", tournamentId));
+    }
+}
@@ -0,0 +1,68 @@
+package io.piseven.wordle;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap retained by objects built in a test.
+ * <p>
+ * The heap in use is read after forcing full collections, once while the objects built by a setup are reachable
+ * and once after they have been released. The difference is what the objects retain, including everything they
+ * exclusively reference. Both readings are taken after the setup has run, so class loading and warm-up garbage
+ * do not skew the result; building many instances at once keeps the noise of the collector well below a byte
+ * per instance.
+ */
+public final class HeapFootprint {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private HeapFootprint() {
+    }
+
+    /**
+     * Returns the bytes retained by the object graph returned by {@code setup}.
+     *
+     * @param setup builds the objects to measure and returns their root
+     * @return the retained bytes
+     */
+    public static long retainedBytes(Supplier<?> setup) {
+        return retainedBytes(setup, root -> {
+        });
+    }
+
+    /**
+     * Returns the bytes retained by what {@code setup} builds, released by {@code release}, e.g. by closing
+     * connections whose server-side state is measured.
+     *
+     * @param setup   builds the objects to measure and returns their root
+     * @param release releases everything the setup built
+     * @return the retained bytes
+     */
+    public static <T> long retainedBytes(Supplier<T> setup, Consumer<T> release) {
+        T root = setup.get();
+        long retained = usedHeapAfterGc();
+        Reference.reachabilityFence(root);
+        release.accept(root);
+        root = null;
+        return retained - usedHeapAfterGc();
+    }
+
+    /**
+     * Returns the bytes in use on the heap after forcing full collections until the heap stops shrinking.
+     */
+    public static long usedHeapAfterGc() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = MEMORY.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
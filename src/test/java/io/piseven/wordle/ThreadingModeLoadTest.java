@@ -0,0 +1,232 @@
+package io.piseven.wordle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load comparison of the default platform-thread mode and the {@code virtual-threads} mode. Each mode starts the
+ * application, checks which executor Tomcat handles requests on, then measures lobby requests and WebSocket score
+ * updates round-tripping through rooms of four players, after a warm-up run. Every round trip must complete in
+ * both modes.
+ */
+@Tag("benchmark")
+class ThreadingModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+
+    private static final int ROOMS = 50;
+    private static final int PLAYERS_PER_ROOM = 4;
+    private static final int ROUNDS = 20;
+    private static final int REST_CLIENTS = 64;
+    private static final int REQUESTS_PER_REST_CLIENT = 20;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void comparesPlatformAndVirtualThreads() throws Exception {
+        log.info("mode     | lobby requests/s | round trips/s | p50 ms | p99 ms");
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (var context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(WordleApplication.class)
+                    .properties("server.port=0", "wordle.snapshot.path=", "spring.main.banner-mode=off",
+                            "spring.threads.virtual.enabled=" + virtualThreads)
+                    .run()) {
+                var webServer = (TomcatWebServer) context.getWebServer();
+                var executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+                assertEquals(virtualThreads, executor instanceof VirtualThreadExecutor);
+
+                int port = webServer.getPort();
+                // warm-up, so that the first mode does not pay for the JIT compilation of both
+                lobbyLoad(port);
+                roomLoad(port);
+                double requestsPerSecond = lobbyLoad(port);
+                long[] latencies = roomLoad(port);
+                double roundTripsPerSecond = latencies.length * 1e9 / latencies[latencies.length - 1];
+                Arrays.sort(latencies, 0, latencies.length - 1);
+                log.info("{}", "%-8s | %16.0f | %13.0f | %6.2f | %6.2f".formatted(virtualThreads ? "virtual" : "platform",
+                        requestsPerSecond, roundTripsPerSecond,
+                        percentile(latencies, 0.5) / 1e6, percentile(latencies, 0.99) / 1e6));
+            }
+        }
+    }
+
+    /**
+     * Lists the lobby from many concurrent clients.
+     *
+     * @return the number of requests per second
+     */
+    private double lobbyLoad(int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/room?limit=10")).build();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < REST_CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_REST_CLIENT; r++) {
+                        assertEquals(200, httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            return REST_CLIENTS * REQUESTS_PER_REST_CLIENT * 1e9 / (System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Fills rooms created in one batch with players, then lets every player play its rounds.
+     *
+     * @return the round-trip latencies in nanos, followed by the total elapsed nanos
+     */
+    private long[] roomLoad(int port) throws Exception {
+        HttpRequest createRooms = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/v1/room/batch?count=" + ROOMS + "&maxRounds=" + (ROUNDS + 1) + "&maxPlayers=" + PLAYERS_PER_ROOM))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        JsonNode roomIDs = objectMapper.readTree(httpClient.send(createRooms, HttpResponse.BodyHandlers.ofString()).body())
+                .get("roomIDs");
+        assertEquals(ROOMS, roomIDs.size());
+
+        List<Player> players = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (JsonNode roomID : roomIDs) {
+                for (int p = 0; p < PLAYERS_PER_ROOM; p++) {
+                    Player player = new Player(roomID.asText());
+                    player.connect(port);
+                    player.join();
+                    players.add(player);
+                }
+            }
+
+            long start = System.nanoTime();
+            List<Future<long[]>> results = new ArrayList<>();
+            for (Player player : players) {
+                results.add(clients.submit(player::playRounds));
+            }
+            long[] latencies = new long[players.size() * ROUNDS + 1];
+            int i = 0;
+            for (Future<long[]> result : results) {
+                for (long latency : result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    latencies[i++] = latency;
+                }
+            }
+            latencies[i] = System.nanoTime() - start;
+            return latencies;
+        } finally {
+            players.forEach(Player::close);
+        }
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        int count = sortedLatencies.length - 1;
+        return sortedLatencies[Math.min(count - 1, (int) (count * percentile))];
+    }
+
+    /**
+     * A WebSocket client playing in one room, waiting for the reply to each message it sends.
+     */
+    private final class Player implements WebSocket.Listener {
+
+        private final String roomID;
+        private final BlockingQueue<JsonNode> received = new LinkedBlockingQueue<>();
+        private final StringBuilder partial = new StringBuilder();
+        private WebSocket socket;
+        private String playerID;
+
+        private Player(String roomID) {
+            this.roomID = roomID;
+        }
+
+        void connect(int port) throws Exception {
+            socket = httpClient.newWebSocketBuilder()
+                    .buildAsync(URI.create("ws://localhost:" + port + "/game"), this)
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            playerID = await("PLAYER_SET").path("payload").path("playerID").asText();
+        }
+
+        void join() throws Exception {
+            send("{\"type\":\"JOIN_ROOM\",\"roomID\":\"%s\",\"sessionID\":\"%s\",\"playerName\":\"%s\"}"
+                    .formatted(roomID, playerID, playerID));
+            await("PLAYER_JOINED");
+        }
+
+        long[] playRounds() throws Exception {
+            long[] latencies = new long[ROUNDS];
+            String increment = "{\"type\":\"INCREMENT_SCORE\",\"roomID\":\"%s\",\"sessionID\":\"%s\",\"score\":1}"
+                    .formatted(roomID, playerID);
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                send(increment);
+                await("SCORE_UPDATED");
+                latencies[round] = System.nanoTime() - start;
+            }
+            return latencies;
+        }
+
+        void close() {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "").orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS).join();
+        }
+
+        private void send(String json) throws Exception {
+            socket.sendText(json, true).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Waits for the next message of the given type, skipping the broadcasts caused by other players.
+         */
+        private JsonNode await(String type) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (true) {
+                JsonNode message = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                assertNotNull(message, "No " + type + " received by " + playerID);
+                if (type.equals(message.path("type").asText())) {
+                    return message;
+                }
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                try {
+                    received.add(objectMapper.readTree(partial.toString()));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.piseven.wordle.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void publishesNewSnapshotOnEveryMutation() {
+        Game game = Game.create("ROOM01", 4, 2);
+        GameSnapshot created = game.snapshot();
+
+        game.addPlayer(Player.create("p1", "Alice"));
+        game.startGame();
+        game.incrementPlayerScore("p1", 3);
+
+        GameSnapshot current = game.snapshot();
+        assertTrue(created.players().isEmpty());
+        assertEquals(created.version() + 3, current.version());
+        assertEquals(GameState.IN_PROGRESS, current.state());
+        assertEquals(new PlayerSnapshot("p1", "Alice", 3, 1), current.players().get("p1"));
+    }
+
+    @Test
+    void rejectsTimeLimitsBeyondTheLongestDeadline() {
+        int max = Game.MAX_TIME_LIMIT_SECONDS;
+        assertDoesNotThrow(() -> Game.create("ROOM01", 4, 2, max, max));
+        assertThrows(IllegalArgumentException.class, () -> Game.create("ROOM01", 4, 2, max + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> Game.create("ROOM01", 4, 2, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void forfeitsTheRemainingRoundsOfEveryPlayer() {
+        Game game = Game.create("ROOM01", 5, 3);
+        game.addPlayer(Player.create("p1", "Alice"));
+        game.addPlayer(Player.create("p2", "Bob"));
+        game.startGame();
+        game.incrementPlayerScore("p1", 4);
+
+        assertEquals(List.of(new PlayerSnapshot("p1", "Alice", 4, 1), new PlayerSnapshot("p2", "Bob", 0, 0)),
+                game.forfeitRemainingRounds());
+        assertEquals(new PlayerSnapshot("p1", "Alice", 4, 5), game.snapshot().players().get("p1"));
+        assertTrue(game.forfeitRemainingRounds().isEmpty());
+    }
+
+    @Test
+    void rejectsRestoringMorePlayersThanSeats() {
+        var players = List.of(Player.create("p1", "Alice"), Player.create("p2", "Bob"), Player.create("p3", "Carol"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Game.restore("ROOM01", 4, 2, 0, 0, GameState.IN_PROGRESS, players, List.of()));
+    }
+
+    @Test
+    void serializesSnapshotAndReusesEncodingUntilNextMutation() throws Exception {
+        Game game = Game.create("ROOM01", 4, 2);
+        game.addPlayer(Player.create("p1", "Alice"));
+
+        String first = game.encodedSnapshot();
+        assertSame(first, game.encodedSnapshot());
+
+        game.incrementPlayerScore("p1", 5);
+        String second = game.encodedSnapshot();
+        assertNotSame(first, second);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(Map.of("game", game))).get("game");
+        assertEquals("ROOM01", json.get("id").asText());
+        assertEquals("WAITING_FOR_PLAYERS", json.get("state").asText());
+        assertEquals(5, json.get("players").get("p1").get("score").asInt());
+        assertEquals(1, json.get("players").get("p1").get("currentRound").asInt());
+        assertTrue(json.get("completedPlayers").isArray());
+    }
+}
@@ -0,0 +1,62 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.HeapFootprint;
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.Player;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails when the heap retained per room or per player regresses past its budget.
+ */
+class RoomFootprintTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomFootprintTest.class);
+
+    private static final int ROOMS = 50_000;
+    private static final int PLAYERS_PER_ROOM = 8;
+    private static final long MAX_BYTES_PER_EMPTY_ROOM = 512;
+    private static final long MAX_BYTES_PER_PLAYER = 288;
+
+    @Test
+    void emptyRoomStaysWithinBudget() {
+        long perRoom = HeapFootprint.retainedBytes(() -> {
+            var roomManager = new RoomManager();
+            for (int i = 0; i < ROOMS; i++) {
+                roomManager.createGame(6, PLAYERS_PER_ROOM);
+            }
+            return roomManager;
+        }) / ROOMS;
+
+        log.info("Heap footprint: {} bytes per empty room", perRoom);
+        assertTrue(perRoom < MAX_BYTES_PER_EMPTY_ROOM, "An empty room retains " + perRoom + " bytes");
+    }
+
+    @Test
+    void playerStaysWithinBudget() {
+        long emptyGames = HeapFootprint.retainedBytes(() -> games(0));
+        long fullGames = HeapFootprint.retainedBytes(() -> games(PLAYERS_PER_ROOM));
+        long perPlayer = (fullGames - emptyGames) / (ROOMS * PLAYERS_PER_ROOM);
+
+        log.info("Heap footprint: {} bytes per player", perPlayer);
+        assertTrue(perPlayer < MAX_BYTES_PER_PLAYER, "A player retains " + perPlayer + " bytes");
+    }
+
+    private static Game[] games(int players) {
+        Game[] games = new Game[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            games[i] = Game.create(Integer.toHexString(i), 6, PLAYERS_PER_ROOM);
+            for (int p = 0; p < players; p++) {
+                games[i].addPlayer(Player.create(Integer.toHexString(i * PLAYERS_PER_ROOM + p), "Player " + p));
+            }
+            games[i].startGame();
+            if (players > 0) {
+                games[i].incrementPlayerScore(Integer.toHexString(i * PLAYERS_PER_ROOM), 3);
+            }
+        }
+        return games;
+    }
+}
@@ -0,0 +1,100 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.room.error.RoomAlreadyExistsException;
+import io.piseven.wordle.room.util.RoomUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomIdAllocatorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomIdAllocatorTest.class);
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    void retriesWhenIdIsTaken() {
+        Iterator<String> ids = List.of("AAAAAA", "AAAAAA", "BBBBBB").iterator();
+        RoomIdAllocator allocator = new RoomIdAllocator(ids::next);
+        ConcurrentMap<String, String> rooms = new ConcurrentHashMap<>();
+
+        assertEquals("room-AAAAAA", allocator.allocate(rooms, id -> "room-" + id));
+        assertEquals("room-BBBBBB", allocator.allocate(rooms, id -> "room-" + id));
+        assertEquals("room-AAAAAA", rooms.get("AAAAAA"));
+        assertEquals(1, allocator.collisions());
+    }
+
+    @Test
+    void failsWhenNoFreeIdIsFound() {
+        RoomIdAllocator allocator = new RoomIdAllocator(() -> "AAAAAA");
+        ConcurrentMap<String, String> rooms = new ConcurrentHashMap<>();
+        rooms.put("AAAAAA", "live");
+
+        assertThrows(RoomAlreadyExistsException.class, () -> allocator.allocate(rooms, id -> "new"));
+        assertEquals("live", rooms.get("AAAAAA"));
+        assertEquals(RoomIdAllocator.MAX_ATTEMPTS, allocator.collisions());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void allocatesMillionsOfUniqueIdsConcurrently() throws Exception {
+        RoomIdAllocator allocator = new RoomIdAllocator(RoomUtil::generateRoomId);
+        ConcurrentMap<String, Integer> rooms = new ConcurrentHashMap<>(THREADS * IDS_PER_THREAD * 2);
+        AtomicInteger sequence = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int[] allocated = new int[IDS_PER_THREAD];
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        allocated[i] = allocator.allocate(rooms, id -> sequence.incrementAndGet());
+                    }
+                    return allocated;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            List<int[]> allocated = new ArrayList<>();
+            for (Future<int[]> result : results) {
+                allocated.add(result.get());
+            }
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            boolean[] seen = new boolean[sequence.get() + 1];
+            int total = 0;
+            for (int[] values : allocated) {
+                for (int value : values) {
+                    total++;
+                    seen[value] = true;
+                }
+            }
+            log.info("{} room IDs on {} threads in {} ms, {} collisions retried",
+                    total, THREADS, elapsedMillis, allocator.collisions());
+
+            // every allocation landed in the map under its own ID, and no value was overwritten
+            assertEquals(THREADS * IDS_PER_THREAD, total);
+            assertEquals(total, rooms.size());
+            rooms.values().forEach(value -> assertTrue(seen[value], "Allocated value missing: " + value));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomManagerTest {
+
+    private final RoomManager roomManager = new RoomManager();
+
+    @Test
+    void listsJoinableRoomsPageByPage() {
+        Set<String> created = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            created.add(roomManager.createGame(5, 4));
+        }
+
+        Set<String> listed = new HashSet<>();
+        String cursor = null;
+        do {
+            RoomPage page = roomManager.listRooms(null, 1, cursor, 10);
+            assertTrue(page.rooms().size() <= 10);
+            page.rooms().forEach(room -> assertTrue(listed.add(room.roomID())));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(created, listed);
+    }
+
+    @Test
+    void keepsIndexesInSyncWithStateTransitions() {
+        String fullest = roomManager.createGame(5, 3);
+        String emptiest = roomManager.createGame(5, 3);
+        String started = roomManager.createGame(5, 3);
+        roomManager.addPlayerToGame(fullest, "p1", "Alice");
+        roomManager.addPlayerToGame(fullest, "p2", "Bob");
+        roomManager.addPlayerToGame(started, "p3", "Carol");
+        roomManager.startGame(started);
+
+        List<String> joinable = roomIds(roomManager.listRooms(null, 1, null, 10));
+        assertEquals(List.of(fullest, emptiest), joinable);
+        assertEquals(List.of(emptiest), roomIds(roomManager.listRooms(null, 2, null, 10)));
+        assertEquals(List.of(started), roomIds(roomManager.listRooms(GameState.IN_PROGRESS, 0, null, 10)));
+
+        roomManager.endGame(started);
+        assertTrue(roomManager.listRooms(GameState.IN_PROGRESS, 0, null, 10).rooms().isEmpty());
+        assertEquals(List.of(started), roomIds(roomManager.listRooms(GameState.COMPLETED, 0, null, 10)));
+
+        roomManager.purgePlayerFromGame(fullest, "p1");
+        roomManager.purgePlayerFromGame(fullest, "p2");
+        assertEquals(List.of(emptiest), roomIds(roomManager.listRooms(null, 1, null, 10)));
+    }
+
+    @Test
+    void doesNotReindexRemovedRooms() {
+        Map<String, Game> rooms = new ConcurrentHashMap<>();
+        RoomIndex roomIndex = new RoomIndex(rooms);
+        Game game = Game.create("room", 5, 3);
+        rooms.put("room", game);
+        roomIndex.update(game);
+
+        // the last player leaves while the game is being started: the update lands after the removal
+        game.startGame();
+        rooms.remove("room");
+        roomIndex.remove("room");
+        roomIndex.update(game);
+
+        assertTrue(roomIndex.byState(GameState.IN_PROGRESS, null, 10).roomIds().isEmpty());
+        assertEquals(0L, roomIndex.countByState().get(GameState.IN_PROGRESS));
+        assertEquals(0L, roomIndex.countByState().get(GameState.WAITING_FOR_PLAYERS));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> roomManager.listRooms(null, 1, "not-a-cursor", 10));
+    }
+
+    @Test
+    void createsRoomsInBatches() {
+        List<String> roomIds = roomManager.createGames(50, 5, 4, 0, 0);
+
+        assertEquals(50, new HashSet<>(roomIds).size());
+        roomIds.forEach(roomId -> assertEquals(4, roomManager.getGame(roomId).getMaxPlayers()));
+        assertThrows(IllegalArgumentException.class, () -> roomManager.createGames(0, 5, 4, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> roomManager.createGames(RoomManager.MAX_BATCH_SIZE + 1, 5, 4, 0, 0));
+    }
+
+    private static List<String> roomIds(RoomPage page) {
+        List<String> ids = new ArrayList<>();
+        page.rooms().forEach(room -> ids.add(room.roomID()));
+        return ids;
+    }
+}
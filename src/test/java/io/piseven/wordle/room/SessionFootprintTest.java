@@ -0,0 +1,126 @@
+package io.piseven.wordle.room;
+
+import io.piseven.wordle.HeapFootprint;
+import io.piseven.wordle.room.session.SessionRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the heap retained per open WebSocket session on the server: the container's session with its message
+ * buffers (8 KB text and binary limits in SocketConfig) plus the session registry entries. The clients are plain
+ * sockets performing the handshake by hand, so that client-side WebSocket sessions do not inflate the measurement.
+ * No connection is closed before measuring, since Tomcat pools the buffers of closed connections for reuse.
+ * The build checks the budget on a hundred sessions; the benchmark measures it precisely on many more.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "wordle.snapshot.path=")
+class SessionFootprintTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionFootprintTest.class);
+
+    private static final int WARM_UP_SESSIONS = 20;
+    private static final int SESSIONS = 100;
+    private static final int BENCHMARK_SESSIONS = 500;
+    private static final long MAX_BYTES_PER_SESSION = 96 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Test
+    void openSessionStaysWithinBudget() {
+        assertSessionsWithinBudget(SESSIONS);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void openSessionStaysWithinBudgetAtScale() {
+        assertSessionsWithinBudget(BENCHMARK_SESSIONS);
+    }
+
+    private void assertSessionsWithinBudget(int sessions) {
+        List<Socket> sockets = new ArrayList<>(WARM_UP_SESSIONS + sessions);
+        try {
+            connect(sockets, WARM_UP_SESSIONS);
+            awaitSessions(WARM_UP_SESSIONS);
+            long before = HeapFootprint.usedHeapAfterGc();
+            connect(sockets, sessions);
+            awaitSessions(WARM_UP_SESSIONS + sessions);
+            long perSession = (HeapFootprint.usedHeapAfterGc() - before) / sessions;
+
+            log.info("Heap footprint: {} bytes per open session over {} sessions", perSession, sessions);
+            assertTrue(perSession < MAX_BYTES_PER_SESSION, "An open session retains " + perSession + " bytes");
+        } finally {
+            sockets.forEach(this::close);
+            awaitSessions(0);
+        }
+    }
+
+    private void connect(List<Socket> sockets, int count) {
+        for (int i = 0; i < count; i++) {
+            sockets.add(handshake());
+        }
+    }
+
+    private Socket handshake() {
+        try {
+            Socket socket = new Socket("localhost", port);
+            socket.getOutputStream().write(("GET /game HTTP/1.1\r\n"
+                    + "Host: localhost:" + port + "\r\n"
+                    + "Upgrade: websocket\r\n"
+                    + "Connection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+                    + "Sec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            String response = readHeaders(socket.getInputStream());
+            assertTrue(response.startsWith("HTTP/1.1 101"), response);
+            return socket;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitSessions(int count) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (sessionRegistry.countSessions() != count && System.currentTimeMillis() < deadline) {
+            LockSupport.parkNanos(10_000_000);
+        }
+        assertEquals(count, sessionRegistry.countSessions());
+    }
+
+    private static String readHeaders(InputStream in) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        while (headers.length() < 4 || !headers.substring(headers.length() - 4).equals("\r\n\r\n")) {
+            int b = in.read();
+            if (b < 0) {
+                break;
+            }
+            headers.append((char) b);
+        }
+        return headers.toString();
+    }
+}
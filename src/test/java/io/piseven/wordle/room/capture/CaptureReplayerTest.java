@@ -0,0 +1,79 @@
+package io.piseven.wordle.room.capture;
+
+import io.piseven.wordle.model.GameState;
+import io.piseven.wordle.room.RoomManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "wordle.snapshot.path=")
+class CaptureReplayerTest {
+
+    private static final long STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Autowired
+    private CaptureReplayer captureReplayer;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Test
+    void replaysAGameAsFastAsPossible() throws Exception {
+        var result = captureReplayer.replay(new ByteArrayInputStream(capture("REPLAY1")), 0);
+
+        var game = roomManager.getGame("REPLAY1").snapshot();
+        assertEquals(GameState.COMPLETED, game.state());
+        assertEquals(4, game.players().get("replay1-a").score());
+        assertEquals(0, result.failures());
+        assertEquals(11, result.receivedMessages());
+        assertTrue(result.sentMessages() > result.receivedMessages());
+    }
+
+    @Test
+    void replaysAtTheOriginalSpeed() throws Exception {
+        byte[] capture = capture("REPLAY2");
+        var result = captureReplayer.replay(new ByteArrayInputStream(capture), 1);
+
+        assertTrue(result.elapsedNanos() >= (result.records() - 1) * STEP_NANOS, "Replay took " + result.elapsedNanos() + " ns");
+        assertEquals(GameState.COMPLETED, roomManager.getGame("REPLAY2").getState());
+    }
+
+    /**
+     * Two players join a room and play all four rounds, one record every {@link #STEP_NANOS}.
+     */
+    private static byte[] capture(String roomID) throws Exception {
+        var out = new ByteArrayOutputStream();
+        var writer = new CaptureWriter(out, 0);
+        String a = roomID.toLowerCase() + "-a";
+        String b = roomID.toLowerCase() + "-b";
+        long[] nanos = {0};
+        LongSupplier next = () -> nanos[0] += STEP_NANOS;
+        writer.write(new CaptureRecord.RoomCreated(next.getAsLong(), roomID, 4, 2, 0, 0));
+        writer.write(new CaptureRecord.Opened(next.getAsLong(), a));
+        writer.write(new CaptureRecord.Opened(next.getAsLong(), b));
+        writer.write(new CaptureRecord.Received(next.getAsLong(), a, join(roomID, a, "Alice")));
+        writer.write(new CaptureRecord.Received(next.getAsLong(), b, join(roomID, b, "Bob")));
+        writer.write(new CaptureRecord.Received(next.getAsLong(), a, "{\"type\":\"START_GAME\",\"roomID\":\"%s\"}".formatted(roomID)));
+        for (int round = 0; round < 4; round++) {
+            writer.write(new CaptureRecord.Received(next.getAsLong(), a, score(roomID, a, 1)));
+            writer.write(new CaptureRecord.Received(next.getAsLong(), b, score(roomID, b, 0)));
+        }
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    private static String join(String roomID, String sessionID, String name) {
+        return "{\"type\":\"JOIN_ROOM\",\"roomID\":\"%s\",\"sessionID\":\"%s\",\"playerName\":\"%s\"}".formatted(roomID, sessionID, name);
+    }
+
+    private static String score(String roomID, String sessionID, int score) {
+        return "{\"type\":\"INCREMENT_SCORE\",\"roomID\":\"%s\",\"sessionID\":\"%s\",\"score\":%d}".formatted(roomID, sessionID, score);
+    }
+}
@@ -0,0 +1,84 @@
+package io.piseven.wordle.room.capture;
+
+import io.piseven.wordle.room.RoomManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficCaptureTest {
+
+    @Test
+    void roundTripsRecordsCompactly() throws Exception {
+        List<CaptureRecord> records = List.of(
+                new CaptureRecord.RoomCreated(1_000, "ROOM01", 6, 4, 30, 0),
+                new CaptureRecord.Opened(1_500, "session-1"),
+                new CaptureRecord.Received(2_000, "session-1", "{\"type\":\"JOIN_ROOM\",\"playerName\":\"Zoë\"}"),
+                new CaptureRecord.Received(1_900, "session-1", "{}"),
+                new CaptureRecord.Closed(3_000, "session-1", 1001),
+                new CaptureRecord.Opened(3_100, "session-1"));
+        var out = new ByteArrayOutputStream();
+        var writer = new CaptureWriter(out, 1_000);
+        for (CaptureRecord record : records) {
+            writer.write(record);
+        }
+        writer.flush();
+
+        var reader = new CaptureReader(new ByteArrayInputStream(out.toByteArray()));
+        List<CaptureRecord> read = new ArrayList<>();
+        for (CaptureRecord record; (record = reader.next()) != null; ) {
+            read.add(record);
+        }
+
+        assertEquals(records.stream().map(record -> shift(record, -1_000)).toList(), read);
+        assertTrue(out.size() < 120, "Capture took " + out.size() + " bytes");
+    }
+
+    @Test
+    void recordsTrafficAndRoomCreationsAsynchronously() throws Exception {
+        Path file = Files.createTempFile("traffic", ".capture");
+        try {
+            var roomManager = new RoomManager();
+            var recorder = new TrafficRecorder(roomManager, file.toString(), 1024);
+            String roomID = roomManager.createGame(6, 2);
+            recorder.recordOpened("s1");
+            recorder.recordReceived("s1", "hello");
+            recorder.recordClosed("s1", 1000);
+            recorder.destroy();
+
+            try (InputStream in = Files.newInputStream(file)) {
+                var reader = new CaptureReader(in);
+                var room = assertInstanceOf(CaptureRecord.RoomCreated.class, reader.next());
+                assertEquals(roomID, room.roomID());
+                assertEquals("s1", assertInstanceOf(CaptureRecord.Opened.class, reader.next()).sessionID());
+                var received = assertInstanceOf(CaptureRecord.Received.class, reader.next());
+                assertEquals("hello", received.payload());
+                assertTrue(received.nanos() >= room.nanos());
+                assertEquals(1000, assertInstanceOf(CaptureRecord.Closed.class, reader.next()).code());
+                assertNull(reader.next());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static CaptureRecord shift(CaptureRecord record, long nanos) {
+        if (record instanceof CaptureRecord.Opened opened) {
+            return new CaptureRecord.Opened(opened.nanos() + nanos, opened.sessionID());
+        } else if (record instanceof CaptureRecord.Received received) {
+            return new CaptureRecord.Received(received.nanos() + nanos, received.sessionID(), received.payload());
+        } else if (record instanceof CaptureRecord.Closed closed) {
+            return new CaptureRecord.Closed(closed.nanos() + nanos, closed.sessionID(), closed.code());
+        }
+        var room = (CaptureRecord.RoomCreated) record;
+        return new CaptureRecord.RoomCreated(room.nanos() + nanos, room.roomID(), room.maxRounds(), room.maxPlayers(),
+                room.roundTimeLimitSeconds(), room.gameTimeLimitSeconds());
+    }
+}
@@ -0,0 +1,40 @@
+package io.piseven.wordle.room.messages.incoming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageStatsTest {
+
+    @Test
+    void countsMessagesPerTypeAndErrors() {
+        var stats = new MessageStats(List.of(JoinRoomMessage.class, PlayerLeftMessage.class));
+        stats.recordProcessed(new JoinRoomMessage("ROOM1", "s1", "Alice"), 1_000);
+        stats.recordProcessed(new JoinRoomMessage("ROOM1", "s2", "Bob"), 1_000);
+        stats.recordProcessed(new PlayerLeftMessage("s1"), 1_000);
+        stats.recordError();
+
+        assertEquals(Map.of("JoinRoomMessage", 2L, "PlayerLeftMessage", 1L), stats.countByType());
+        assertEquals(3, stats.countProcessed());
+        assertEquals(1, stats.countErrors());
+    }
+
+    @Test
+    void keepsTheSlowestRoomsOfEachWindow() {
+        var stats = new MessageStats(List.of(IncrementScoreMessage.class));
+        for (int room = 1; room <= 10; room++) {
+            stats.recordProcessed(new IncrementScoreMessage("ROOM" + room, "s", 1), room * 1_000_000L);
+        }
+        stats.recordProcessed(new IncrementScoreMessage("ROOM7", "s", 1), 50_000_000L);
+
+        var slowest = stats.drainSlowestRooms();
+
+        assertEquals(List.of("ROOM7", "ROOM10", "ROOM9", "ROOM8", "ROOM6"),
+                slowest.stream().map(MessageStats.SlowRoom::roomID).toList());
+        assertEquals(50_000, slowest.get(0).micros());
+        assertTrue(stats.drainSlowestRooms().isEmpty());
+    }
+}
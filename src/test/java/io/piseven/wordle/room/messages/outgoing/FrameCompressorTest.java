@@ -0,0 +1,100 @@
+package io.piseven.wordle.room.messages.outgoing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FrameCompressorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FrameCompressorTest.class);
+
+    private static final int[] ROOM_SIZES = {2, 8, 32, 128};
+    private static final int ITERATIONS = 2_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compressesLargeFramesOnlyForNegotiatedSessions() throws Exception {
+        var compressor = new FrameCompressor(256, 1);
+        var large = new TextMessage(objectMapper.writeValueAsString(BroadcastMessage.scoreUpdated("Player 0", game(16))));
+        var small = new TextMessage(objectMapper.writeValueAsString(BroadcastMessage.gameOver()));
+
+        var encoded = compressor.encode(session(FrameCompressor.SUBPROTOCOL), large);
+
+        assertInstanceOf(BinaryMessage.class, encoded);
+        assertEquals(large.getPayload(), inflate(((BinaryMessage) encoded).getPayload().array()));
+        assertSame(large, compressor.encode(session(null), large));
+        assertSame(small, compressor.encode(session(FrameCompressor.SUBPROTOCOL), small));
+    }
+
+    /**
+     * Logs, per room size, the payload saved by compression against the CPU spent on it. The CPU is spent once
+     * per broadcast, whereas the bandwidth is saved for every recipient.
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkCompressionTradeOffByRoomSize() throws Exception {
+        var compressor = new FrameCompressor(0, 1);
+        log.info("players | json bytes | deflated bytes | ratio | compress us/frame | bytes saved per broadcast");
+        for (int players : ROOM_SIZES) {
+            var message = new TextMessage(objectMapper.writeValueAsString(BroadcastMessage.scoreUpdated("Player 0", game(players))));
+            byte[] payload = message.asBytes();
+
+            int compressedLength = 0;
+            for (int i = 0; i < ITERATIONS / 4; i++) {
+                compressedLength = compressor.deflate(payload).length;
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                compressedLength = compressor.deflate(payload).length;
+            }
+            double micros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+
+            log.info("{}", "%7d | %10d | %14d | %5.2f | %17.1f | %d".formatted(players, payload.length, compressedLength,
+                    (double) compressedLength / payload.length, micros, (long) (payload.length - compressedLength) * players));
+            if (players >= 8) {
+                assertTrue(compressedLength < payload.length / 2, "Game frames of " + players + " players should compress well");
+            }
+        }
+    }
+
+    private static Game game(int players) {
+        Game game = Game.create("ROOM1", 6, players);
+        for (int p = 0; p < players; p++) {
+            game.addPlayer(Player.create("session-" + p, "Player " + p));
+        }
+        game.startGame();
+        game.incrementPlayerScore("session-0", 3);
+        return game;
+    }
+
+    private static WebSocketSession session(String acceptedProtocol) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getAcceptedProtocol()).thenReturn(acceptedProtocol);
+        return session;
+    }
+
+    private static String inflate(byte[] compressed) throws Exception {
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(compressed);
+        byte[] buffer = new byte[compressed.length * 20];
+        int length = inflater.inflate(buffer);
+        inflater.end();
+        return new String(Arrays.copyOf(buffer, length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package io.piseven.wordle.room.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionRegistryTest {
+
+    private final SessionRegistry sessionRegistry = new SessionRegistry();
+
+    @Test
+    void keepsRoomGroupsInSyncWithJoinsAndLeaves() {
+        sessionRegistry.register(session("s1"));
+        sessionRegistry.register(session("s2"));
+        sessionRegistry.register(session("s3"));
+
+        sessionRegistry.join("ROOM1", "s1");
+        sessionRegistry.join("ROOM1", "s2");
+        sessionRegistry.join("ROOM1", "s2");
+        sessionRegistry.join("ROOM2", "s3");
+        assertEquals(List.of("s1", "s2"), ids(sessionRegistry.fetchRoomSessions("ROOM1")));
+        assertEquals(List.of("s3"), ids(sessionRegistry.fetchRoomSessions("ROOM2")));
+
+        sessionRegistry.purge("s1");
+        assertEquals(List.of("s2"), ids(sessionRegistry.fetchRoomSessions("ROOM1")));
+
+        sessionRegistry.leave("s2");
+        assertEquals(0, sessionRegistry.fetchRoomSessions("ROOM1").length);
+    }
+
+    @Test
+    void ignoresUnknownSessions() {
+        sessionRegistry.join("ROOM1", "missing");
+        sessionRegistry.leave("missing");
+        assertEquals(0, sessionRegistry.fetchRoomSessions("ROOM1").length);
+        assertTrue(sessionRegistry.fetchSession("missing").isEmpty());
+    }
+
+    @Test
+    void neverKeepsSessionsPurgedWhileJoining() throws Exception {
+        List<String> sessionIDs = IntStream.range(0, 20_000).mapToObj(i -> "s" + i).toList();
+        sessionIDs.forEach(sessionID -> sessionRegistry.register(session(sessionID)));
+        Thread purge = Thread.ofPlatform().start(() -> sessionIDs.forEach(sessionRegistry::purge));
+        sessionIDs.forEach(sessionID -> sessionRegistry.join("ROOM1", sessionID));
+        purge.join();
+
+        assertEquals(0, sessionRegistry.fetchRoomSessions("ROOM1").length);
+        assertEquals(0, sessionRegistry.countRoomsWithSessions());
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static List<String> ids(WebSocketSession[] sessions) {
+        return Arrays.stream(sessions).map(WebSocketSession::getId).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package io.piseven.wordle.room.snapshot;
+
+import io.piseven.wordle.model.Game;
+import io.piseven.wordle.model.GameSnapshot;
+import io.piseven.wordle.model.GameState;
+import io.piseven.wordle.model.Player;
+import io.piseven.wordle.model.PlayerSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomSnapshotCodecTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomSnapshotCodecTest.class);
+
+    private static final int ROOM_COUNT = 100_000;
+    private static final long ROLLING_DEPLOY_BUDGET_MILLIS = 5_000;
+
+    @Test
+    void roundTripsRoomState() throws Exception {
+        Game game = Game.create("ABC123", 6, 4);
+        game.addPlayer(Player.create("p1", "Alice"));
+        game.addPlayer(Player.create("p2", "Bob"));
+        game.addPlayer(Player.create("p3", "Carol"));
+        game.startGame();
+        for (int round = 0; round < 6; round++) {
+            game.incrementPlayerScore("p3", 2);
+            game.incrementPlayerScore("p2", 10);
+        }
+        game.incrementPlayerScore("p1", 7);
+        game.removePlayer("p3");
+
+        var out = new ByteArrayOutputStream();
+        RoomSnapshotCodec.write(List.of(game.snapshot()), out);
+        var restored = RoomSnapshotCodec.read(new ByteArrayInputStream(out.toByteArray())).games();
+
+        assertEquals(1, restored.size());
+        GameSnapshot copy = restored.get(0).snapshot();
+        assertEquals("ABC123", copy.id());
+        assertEquals(6, copy.maxRounds());
+        assertEquals(4, copy.maxPlayers());
+        assertEquals(GameState.IN_PROGRESS, copy.state());
+        assertEquals(60, copy.players().get("p2").score());
+        assertEquals(6, copy.players().get("p2").currentRound());
+        assertEquals(7, copy.players().get("p1").score());
+        assertEquals(List.of("p1", "p2"), List.copyOf(copy.players().keySet()));
+        assertEquals(List.of(new PlayerSnapshot("p3", "Carol", 12, 6), copy.players().get("p2")), copy.completedPlayers(),
+                "Players who completed and left must keep their place in the results");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void snapshotsAndRestoresHundredThousandRoomsWithinDeployWindow() throws Exception {
+        List<Game> games = new ArrayList<>(ROOM_COUNT);
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            Game game = Game.create("R%05d".formatted(i), 6, 4);
+            for (int p = 0; p < 4; p++) {
+                game.addPlayer(Player.create("session-%d-%d".formatted(i, p), "Player " + p));
+            }
+            game.startGame();
+            game.incrementPlayerScore("session-%d-0".formatted(i), 5);
+            games.add(game);
+        }
+        Path file = Files.createTempFile("rooms", ".snapshot");
+        try {
+            long writeStart = System.nanoTime();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+                RoomSnapshotCodec.write(games.stream().map(Game::snapshot).toList(), out);
+            }
+            long writeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - writeStart);
+
+            long readStart = System.nanoTime();
+            List<Game> restored;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+                restored = RoomSnapshotCodec.read(in).games();
+            }
+            long readMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - readStart);
+
+            log.info("Room snapshot of {} rooms: {} bytes, write {} ms, restore {} ms",
+                    ROOM_COUNT, Files.size(file), writeMillis, readMillis);
+            assertEquals(ROOM_COUNT, restored.size());
+            assertEquals(5, restored.get(ROOM_COUNT - 1).snapshot().players().get("session-%d-0".formatted(ROOM_COUNT - 1)).score());
+            assertTrue(writeMillis + readMillis < ROLLING_DEPLOY_BUDGET_MILLIS,
+                    "Snapshot and restore took " + (writeMillis + readMillis) + " ms");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.piseven.wordle.room.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.error.InvalidRejoinTokenException;
+import io.piseven.wordle.room.error.ServerDrainingException;
+import io.piseven.wordle.room.messages.outgoing.BroadcastMessage;
+import io.piseven.wordle.room.messages.outgoing.Broadcaster;
+import io.piseven.wordle.room.session.SessionRegistry;
+import io.piseven.wordle.room.util.RoomUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomSnapshotLifecycleTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void restoredPlayersRejoinWithTheirTokenOnly() throws Exception {
+        Path snapshot = directory.resolve("rooms.snapshot");
+        RoomManager before = new RoomManager();
+        String roomId = before.createGame(5, 4);
+        String otherRoomId = before.createGame(5, 4);
+        before.addPlayerToGame(roomId, "0", "Alice");
+        before.addPlayerToGame(roomId, "1", "Bob");
+        before.addPlayerToGame(otherRoomId, "2", "Carol");
+        before.startGame(roomId);
+        before.getGame(roomId).incrementPlayerScore("0", 7);
+
+        Map<String, String> tokens = drain(before, snapshot, "0", "1", "2", "3");
+        assertEquals(3, tokens.size());
+        assertNull(tokens.get("3"), "A session without a room gets no token");
+        assertTrue(Files.exists(snapshot));
+        assertThrows(ServerDrainingException.class, () -> before.getGame(roomId).incrementPlayerScore("1", 5),
+                "A move accepted after the snapshot was written would be lost");
+        before.getGame(roomId).forfeitRemainingRounds();
+        assertEquals(0, before.getGame(roomId).snapshot().players().get("1").currentRound());
+
+        RoomManager after = new RoomManager();
+        lifecycle(after, snapshot).restore();
+        var restored = after.getGame(roomId).snapshot();
+        String alice = RoomUtil.restoredPlayerId(roomId, 0);
+        String bob = RoomUtil.restoredPlayerId(roomId, 1);
+        assertEquals(List.of(alice, bob), List.copyOf(restored.players().keySet()),
+                "Restored players must neither keep their session IDs nor be held under their tokens");
+        assertEquals(7, restored.players().get(alice).score());
+
+        // session IDs start over after a restart: a new connection "0" joins another room and leaves it
+        after.addPlayerToGame(otherRoomId, "0", "Dave");
+        after.purgePlayerFromGame(otherRoomId, "0");
+        assertEquals(2, after.getGame(roomId).snapshot().players().size());
+
+        assertThrows(InvalidRejoinTokenException.class, () -> after.rejoinGame(roomId, "0", "10"));
+        assertThrows(InvalidRejoinTokenException.class, () -> after.rejoinGame(roomId, tokens.get("2"), "10"));
+        assertThrows(IllegalArgumentException.class, () -> after.rejoinGame(roomId, tokens.get("0"), bob));
+
+        assertEquals(alice, after.rejoinGame(roomId, tokens.get("0"), "10").playerID());
+        assertEquals(7, after.getGame(roomId).snapshot().players().get("10").score());
+        String playerRejoined = new ObjectMapper().writeValueAsString(
+                BroadcastMessage.playerRejoined("Alice", after.getGame(roomId)));
+        assertTrue(playerRejoined.contains(bob));
+        tokens.values().forEach(token -> assertFalse(playerRejoined.contains(token), "Broadcast leaks a rejoin token"));
+        assertThrows(InvalidRejoinTokenException.class, () -> after.rejoinGame(roomId, tokens.get("0"), "11"));
+
+        assertEquals(2, after.purgeUnclaimedPlayers());
+        assertEquals(List.of("10"), List.copyOf(after.getGame(roomId).snapshot().players().keySet()));
+        assertThrows(RuntimeException.class, () -> after.getGame(otherRoomId));
+    }
+
+    /**
+     * Drains the manager with the given sessions connected.
+     *
+     * @return the rejoin tokens sent with {@code SERVER_RESTARTING}, by session ID
+     */
+    private Map<String, String> drain(RoomManager roomManager, Path snapshot, String... sessionIds) {
+        Broadcaster broadcaster = mock(Broadcaster.class);
+        SessionRegistry sessionRegistry = new SessionRegistry();
+        for (String sessionId : sessionIds) {
+            WebSocketSession session = mock(WebSocketSession.class);
+            when(session.getId()).thenReturn(sessionId);
+            when(session.isOpen()).thenReturn(true);
+            sessionRegistry.register(session);
+        }
+        new RoomSnapshotLifecycle(roomManager, broadcaster, sessionRegistry, snapshot.toString(), Duration.ZERO).drain();
+
+        ArgumentCaptor<String> sessionId = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<BroadcastMessage> message = ArgumentCaptor.forClass(BroadcastMessage.class);
+        verify(broadcaster, times(sessionIds.length)).sendToSession(sessionId.capture(), message.capture());
+        Map<String, String> tokens = new HashMap<>();
+        for (int i = 0; i < sessionIds.length; i++) {
+            if (message.getAllValues().get(i).getPayload() instanceof Map<?, ?> payload) {
+                tokens.put(sessionId.getAllValues().get(i), (String) payload.get("rejoinToken"));
+            }
+        }
+        return tokens;
+    }
+
+    private RoomSnapshotLifecycle lifecycle(RoomManager roomManager, Path snapshot) {
+        return new RoomSnapshotLifecycle(roomManager, mock(Broadcaster.class), new SessionRegistry(),
+                snapshot.toString(), Duration.ZERO);
+    }
+}
@@ -0,0 +1,84 @@
+package io.piseven.wordle.room.timer;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HierarchicalTimingWheelTest.class);
+
+    @Test
+    void expiresTimeoutsNotBeforeTheirDelay() throws Exception {
+        try (var wheel = new HierarchicalTimingWheel(Duration.ofMillis(5), 8, 3, Runnable::run, "test-wheel")) {
+            CountDownLatch expired = new CountDownLatch(1);
+            long start = System.nanoTime();
+            long[] elapsed = new long[1];
+            var timeout = wheel.schedule(() -> {
+                elapsed[0] = System.nanoTime() - start;
+                expired.countDown();
+            }, Duration.ofMillis(300));
+
+            assertTrue(expired.await(2, TimeUnit.SECONDS));
+            assertTrue(timeout.isExpired());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(elapsed[0]) >= 300, "Expired after " + elapsed[0] + " ns");
+        }
+    }
+
+    @Test
+    void cancelledTimeoutsNeverRun() throws Exception {
+        try (var wheel = new HierarchicalTimingWheel(Duration.ofMillis(1), 16, 3, Runnable::run, "test-wheel")) {
+            AtomicInteger runs = new AtomicInteger();
+            var timeout = wheel.schedule(runs::incrementAndGet, Duration.ofMillis(50));
+            assertTrue(timeout.cancel());
+            assertFalse(timeout.cancel());
+
+            Thread.sleep(200);
+            assertEquals(0, runs.get());
+            assertTrue(timeout.isCancelled());
+        }
+    }
+
+    @Test
+    void handlesHundredsOfThousandsOfPendingTimeoutsAcrossLevels() throws Exception {
+        int count = 200_000;
+        try (var wheel = new HierarchicalTimingWheel(Duration.ofMillis(1), 16, 4, Runnable::run, "test-wheel")) {
+            AtomicInteger expired = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(count);
+            List<HierarchicalTimingWheel.Timeout> timeouts = new ArrayList<>(count);
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                long delay = ThreadLocalRandom.current().nextLong(1, 1_500);
+                timeouts.add(wheel.schedule(() -> {
+                    expired.incrementAndGet();
+                    done.countDown();
+                }, Duration.ofMillis(delay)));
+            }
+            long scheduleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            int cancelled = 0;
+            for (int i = 1; i < count; i += 2) {
+                if (timeouts.get(i).cancel()) {
+                    cancelled++;
+                    done.countDown();
+                }
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            log.info("Scheduled {} timeouts in {} ms", count, scheduleMillis);
+            assertEquals(count - cancelled, expired.get());
+            assertTrue(cancelled > 0);
+            assertTrue(timeouts.stream().allMatch(timeout -> timeout.isExpired() || timeout.isCancelled()));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.piseven.wordle.solver;
+
+import io.piseven.wordle.solver.error.InvalidGuessException;
+import io.piseven.wordle.solver.error.SolverBusyException;
+import io.piseven.wordle.solver.error.SolverUnavailableException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordleSolverTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WordleSolverTest.class);
+
+    private static final List<String> ANSWERS = List.of(
+            "crane", "slate", "trace", "crate", "caret", "react", "abide", "erase");
+    private static final List<String> GUESSES = List.of("plumb", "speed", "crane");
+
+    @Test
+    void computesFeedbackWithRepeatedLetters() {
+        assertEquals("BBYBY", Feedback.format(Feedback.pattern("speed", "abide")));
+        assertEquals("GGGBG", Feedback.format(Feedback.pattern("crane", "crate")));
+        assertEquals(Feedback.ALL_CORRECT, Feedback.pattern("crate", "crate"));
+        assertEquals(Feedback.pattern("speed", "abide"), Feedback.parse("bbyby"));
+        assertEquals(Feedback.pattern("speed", "abide"), Feedback.parse("0-1x1"));
+        assertThrows(InvalidGuessException.class, () -> Feedback.parse("GGZGG"));
+    }
+
+    @Test
+    void suggestsTheOnlyRemainingAnswer() {
+        var solver = new WordleSolver(ANSWERS, GUESSES, 2, 100, 64);
+        try {
+            Hint hint = solver.hint(List.of(new Guess("CRANE", "GGGBG"))).join();
+
+            assertEquals(new Hint("crate", 0.0, 1), hint);
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    @Test
+    void cachesHintsBySetOfConstraints() {
+        var solver = new WordleSolver(ANSWERS, GUESSES, 2, 100, 64);
+        try {
+            var plumb = new Guess("plumb", Feedback.format(Feedback.pattern("plumb", "react")));
+            var slate = new Guess("slate", Feedback.format(Feedback.pattern("slate", "react")));
+
+            Hint first = solver.hint(List.of(plumb, slate)).join();
+            Hint second = solver.hint(List.of(slate, plumb)).join();
+
+            assertSame(first, second);
+            assertTrue(first.remainingAnswers() < ANSWERS.size());
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    @Test
+    void rejectsInvalidGuessesAndContradictoryFeedback() {
+        var solver = new WordleSolver(ANSWERS, GUESSES, 2, 100, 64);
+        try {
+            assertThrows(InvalidGuessException.class, () -> solver.hint(List.of(new Guess("zzzzz", "BBBBB"))));
+            var contradiction = solver.hint(List.of(new Guess("crane", "GGGGG"), new Guess("slate", "GGGGG")));
+            var failure = assertThrows(CompletionException.class, contradiction::join);
+            assertInstanceOf(InvalidGuessException.class, failure.getCause());
+            assertThrows(SolverUnavailableException.class, () -> new WordleSolver(List.of(), GUESSES, 1, 1, 1).hint(List.of()));
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    @Test
+    void analysesAFinishedGame() {
+        var solver = new WordleSolver(ANSWERS, GUESSES, 2, 100, 64);
+        try {
+            List<AnalysisStep> steps = solver.analyze("crate", List.of("plumb", "crane", "crate", "slate")).join();
+
+            assertEquals(3, steps.size());
+            assertEquals(ANSWERS.size(), steps.get(0).remainingBefore());
+            assertEquals("GGGGG", steps.get(2).feedback());
+            assertEquals("crate", steps.get(2).bestGuess());
+            assertThrows(InvalidGuessException.class, () -> solver.analyze("plumb", List.of("crane")));
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    @Test
+    void rejectsRequestsBeyondThePendingLimit() {
+        // the first request waits for the pattern table of many answers, so the second one finds the solver busy
+        var solver = new WordleSolver(randomWords(3_000), List.of(), 1, 100, 1);
+        try {
+            var first = solver.hint(List.of());
+            assertThrows(SolverBusyException.class, () -> solver.hint(List.of()));
+
+            Hint hint = first.join();
+            assertSame(hint, solver.hint(List.of()).join(), "Cached hints are not counted as pending");
+            assertEquals(1, solver.analyze(hint.word(), List.of(hint.word())).join().size());
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void parallelSolvingMatchesSequentialSolving() {
+        List<String> words = randomWords(2_000);
+        openingHint(words, 4);
+        long start = System.nanoTime();
+        Hint expected = openingHint(words, 1);
+        long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        Hint actual = openingHint(words, 4);
+        long parallelMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Opening hint over {} words, pattern table included: {} ms on 1 thread, {} ms on 4 threads",
+                words.size(), sequentialMillis, parallelMillis);
+        assertEquals(expected, actual);
+    }
+
+    private static Hint openingHint(List<String> words, int parallelism) {
+        var solver = new WordleSolver(words, List.of(), parallelism, 100, 64);
+        try {
+            return solver.hint(List.of()).join();
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    private static List<String> randomWords(int count) {
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>(count);
+        while (words.size() < count) {
+            char[] letters = new char[Feedback.WORD_LENGTH];
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = (char) ('a' + random.nextInt(26));
+            }
+            words.add(new String(letters));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,55 @@
+package io.piseven.wordle.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateLeaderboardTest {
+
+    @Test
+    void ranksByScoreThenByFewerRounds() {
+        var leaderboard = new AggregateLeaderboard();
+        leaderboard.record("p1", "Alice", "ROOM1", 5);
+        leaderboard.record("p2", "Bob", "ROOM2", 3);
+        leaderboard.record("p2", "Bob", "ROOM2", 2);
+        leaderboard.record("p3", "Carol", "ROOM1", 9);
+        leaderboard.record("p4", "Dave", "ROOM3", 1);
+
+        List<Standing> top = leaderboard.top(3);
+
+        assertEquals(List.of("p3", "p1", "p2"), top.stream().map(Standing::playerID).toList());
+        assertEquals(new Standing("p2", "Bob", "ROOM2", 5, 2), top.get(2));
+        assertEquals(5, leaderboard.updates());
+    }
+
+    @Test
+    void aggregatesConcurrentUpdatesFromManyRooms() throws Exception {
+        var leaderboard = new AggregateLeaderboard();
+        int rooms = 200;
+        int playersPerRoom = 4;
+        int rounds = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int room = 0; room < rooms; room++) {
+            int roomIndex = room;
+            executor.execute(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    for (int player = 0; player < playersPerRoom; player++) {
+                        leaderboard.record("p" + roomIndex + "-" + player, "Player", "ROOM" + roomIndex, player);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals((long) rooms * playersPerRoom * rounds, leaderboard.updates());
+        List<Standing> top = leaderboard.top(rooms);
+        assertEquals(rooms, top.size());
+        top.forEach(standing -> assertEquals((playersPerRoom - 1) * rounds, standing.score()));
+    }
+}
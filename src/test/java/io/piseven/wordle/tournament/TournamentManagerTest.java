@@ -0,0 +1,50 @@
+package io.piseven.wordle.tournament;
+
+import io.piseven.wordle.room.RoomManager;
+import io.piseven.wordle.room.messages.outgoing.Broadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TournamentManagerTest {
+
+    private final RoomManager roomManager = new RoomManager();
+    private final TournamentManager tournamentManager = new TournamentManager(roomManager, mock(Broadcaster.class));
+
+    @AfterEach
+    void shutDown() {
+        tournamentManager.destroy();
+    }
+
+    @Test
+    void createsRoomsWithTimeLimits() {
+        String tournamentId = tournamentManager.createTournament("Finals");
+        String roomId = tournamentManager.createRoom(tournamentId, 5, 4, 60, 600);
+
+        var room = roomManager.getGame(roomId).snapshot();
+        assertEquals(60, room.roundTimeLimitSeconds());
+        assertEquals(600, room.gameTimeLimitSeconds());
+        assertEquals(Set.of(roomId), tournamentManager.getTournament(tournamentId).getRoomIds());
+    }
+
+    @Test
+    void forgetsRoomsOnceTheyAreRemoved() {
+        String tournamentId = tournamentManager.createTournament("Finals");
+        String roomId = tournamentManager.createRoom(tournamentId, 5, 4);
+        String otherRoomId = tournamentManager.createRoom(tournamentId, 5, 4);
+        roomManager.addPlayerToGame(roomId, "p1", "Alice");
+        tournamentManager.recordScore(roomId, "p1", "Alice", 3);
+
+        roomManager.purgePlayerFromGame(roomId, "p1");
+        tournamentManager.recordScore(roomId, "p2", "Bob", 5);
+
+        assertEquals(Set.of(otherRoomId), tournamentManager.getTournament(tournamentId).getRoomIds());
+        assertEquals(List.of(new Standing("p1", "Alice", roomId, 3, 1)),
+                tournamentManager.getStandings(tournamentId, 10));
+    }
+}